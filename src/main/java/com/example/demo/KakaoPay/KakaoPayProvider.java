@@ -1,13 +1,14 @@
 package com.example.demo.KakaoPay;
 
-import com.example.demo.order.dto.OrderGroupBatchMessage;
 import com.example.demo.customer.entity.CustomerStatistics;
+import com.example.demo.customer.entity.OrderLineType;
+import com.example.demo.store.service.MenuSalesCounter;
+import com.example.demo.store.service.MenuSalesRollupService;
 import com.example.demo.order.entity.OrderGroup;
 import com.example.demo.customer.entity.Customer;
-import com.example.demo.customer.entity.CustomerPoint;
-import com.example.demo.benefit.repository.CustomerPointRepository;
+import com.example.demo.benefit.service.PointLedgerService;
 import com.example.demo.order.repository.OrderGroupRepository;
-import com.example.demo.setting.webSock.WebBroadCast;
+import com.example.demo.setting.webSock.OrderBoardPublisher;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +16,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -32,10 +32,11 @@ import com.example.demo.customer.entity.CustomerCoupon;
 @RequiredArgsConstructor
 public class KakaoPayProvider {
     private final OrderGroupRepository orderGroupRepository;
-    private final CustomerPointRepository customerPointRepository;
+    private final PointLedgerService pointLedgerService;
     private final CustomerCouponRepository customerCouponRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final WebBroadCast webBroadCast;
+    private final OrderBoardPublisher orderBoardPublisher;
+    private final MenuSalesRollupService menuSalesRollupService;
+    private final MenuSalesCounter menuSalesCounter;
 
     @Value("${kakaopay.secretKey}")
     private String secretKey;
@@ -103,7 +104,7 @@ public class KakaoPayProvider {
         List<CustomerStatistics> stats = orderGroup.getCustomerStatisticsList();
 
         int totalAmount = stats.stream()
-                .filter(stat -> !stat.getOrderDetails().startsWith("UserPointUsedOrNotUsed") && !stat.getOrderDetails().startsWith("CouponUsed:"))
+                .filter(stat -> stat.getLineType() == OrderLineType.MENU)
                 .mapToInt(stat -> (int) (stat.getOrderPrice() * stat.getOrderAmount()))
                 .sum();
 
@@ -113,10 +114,10 @@ public class KakaoPayProvider {
         if (customer != null) {
             // --- 쿠폰 사용 처리 로직 ---
             stats.stream()
-                .filter(stat -> stat.getOrderDetails().startsWith("CouponUsed:"))
+                .filter(stat -> stat.getLineType() == OrderLineType.COUPON)
                 .findFirst()
                 .ifPresent(couponStat -> {
-                    String couponUuid = couponStat.getOrderDetails().substring("CouponUsed:".length()).trim();
+                    String couponUuid = couponStat.getCouponUuid();
                     log.info("사용된 쿠폰 UUID: {}", couponUuid);
 
                     CustomerCoupon customerCoupon = customerCouponRepository.findById(couponUuid)
@@ -145,46 +146,24 @@ public class KakaoPayProvider {
 
             // --- 포인트 사용 처리 로직 ---
             int pointUsed = stats.stream()
-                    .filter(stat -> "UserPointUsedOrNotUsed".equals(stat.getOrderDetails()))
+                    .filter(stat -> stat.getLineType() == OrderLineType.POINT)
                     .mapToInt(stat -> (int) (Math.abs(stat.getOrderPrice()) * stat.getOrderAmount()))  // ✅ 절대값 처리
                     .sum();
 
-            // 💡 CustomerPoint를 DB에서 먼저 조회하고, 없으면 저장
-            CustomerPoint customerPoint = customerPointRepository.findByCustomer(customer)
-                    .orElse(null);
-
-            if (customerPoint == null) {
-                customerPoint = CustomerPoint.builder()
-                        .customer(customer)
-                        .pointAmount(0L)
-                        .build();
-                customerPointRepository.save(customerPoint);
-            }
             log.info("포인트 얼마 사용?" + pointUsed);
-            if (pointUsed > 0) {
-                if (customerPoint.getPointAmount() < pointUsed) {
-                    throw new IllegalStateException("포인트가 부족합니다. 보유 포인트: " + customerPoint.getPointAmount());
-                }
-                customerPoint.subtractPoint(pointUsed);
-                log.info("💸 포인트 {} 차감 완료", pointUsed);
-            }
-
-            log.info("잔여 포인트: {}", customerPoint.getPointAmount());
 
+            // 잔액은 원자적 UPDATE 로 차감/적립하고 원장에 내역을 남김 (부족하면 IllegalStateException)
             int point = (int) (totalAmount * 0.01);
-            customerPoint.addPoint(point);
-            log.info("📈 {} 포인트 적립됨 (총 잔여 포인트: {})", point, customerPoint.getPointAmount());
-
-            customerPointRepository.save(customerPoint); // 최종 저장
+            pointLedgerService.applyApproval(customer.getId(), orderGroupId, pointUsed, point);
         }
         orderGroup.markAsApproved();
-        Long storeId = orderGroup.getStoreId();
-
 
+        // 메뉴 일별 판매 집계 누적
+        menuSalesRollupService.recordApproved(orderGroup);
+        menuSalesCounter.recordApproved(orderGroup);
 
-        OrderGroupBatchMessage message = webBroadCast.createInactiveOrderGroupMessage(storeId);
-        log.info(String.valueOf(message));
-        messagingTemplate.convertAndSend("/topic/orders/" + storeId, message);
+        // 현황판 전체가 아닌 승인된 주문만 델타로 전송
+        orderBoardPublisher.publishOrderAdded(orderGroup);
 
         //웹 소켓 추가 끝
         Map<String, String> parameters = new HashMap<>();
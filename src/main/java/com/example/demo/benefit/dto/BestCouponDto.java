@@ -0,0 +1,29 @@
+package com.example.demo.benefit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "장바구니에 가장 유리한 쿠폰 계산 결과")
+public class BestCouponDto {
+
+    @Schema(description = "추천 고객 쿠폰 UUID (적용 가능한 쿠폰이 없으면 null)", example = "a1b2c3d4-e5f6-7890-1234-567890abcdef", nullable = true)
+    private String couponUuid;
+
+    @Schema(description = "원본 쿠폰 ID", example = "1", nullable = true)
+    private Long couponId;
+
+    @Schema(description = "쿠폰명", example = "가을맞이 10% 할인", nullable = true)
+    private String couponName;
+
+    @Schema(description = "매장 메뉴 가격 기준 주문 금액", example = "23000")
+    private long orderAmount;
+
+    @Schema(description = "할인 금액", example = "2300")
+    private long discountAmount;
+
+    @Schema(description = "할인 후 결제 금액", example = "20700")
+    private long finalAmount;
+}
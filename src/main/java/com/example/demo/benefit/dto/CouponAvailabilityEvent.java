@@ -0,0 +1,35 @@
+package com.example.demo.benefit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쿠폰 발급 가능 여부 변경 알림
+ * /topic/coupons/store/{storeId}, /topic/coupons/district/{district} 로 전송됩니다.
+ *
+ * - ACTIVATED : 예약된 발급 시작 시각이 되어 발급 가능 목록에 추가됨 (coupon 포함)
+ * - EXPIRED   : 만료일이 지나 발급 가능 목록에서 빠짐
+ *
+ * 구독 중인 클라이언트는 쿠폰 목록을 주기적으로 다시 조회하지 않고 이 이벤트로 목록을 갱신하면 됩니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponAvailabilityEvent {
+    private Type type;
+    private Long couponId;
+    private Long storeId;
+    private String district;
+    private CouponDto coupon;
+    private LocalDateTime occurredAt;
+
+    public enum Type {
+        ACTIVATED,
+        EXPIRED
+    }
+}
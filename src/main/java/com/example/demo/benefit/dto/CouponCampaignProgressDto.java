@@ -0,0 +1,40 @@
+package com.example.demo.benefit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "캠페인 쿠폰 일괄 발급 진행 상황")
+public class CouponCampaignProgressDto {
+
+    @Schema(description = "작업 ID", example = "3f2b8c1e-6a4d-4f0e-9a57-1c2d3e4f5a6b")
+    private String jobId;
+
+    @Schema(description = "쿠폰 ID", example = "1")
+    private Long couponId;
+
+    @Schema(description = "진행 상태 (RUNNING, COMPLETED, SOLD_OUT, FAILED)", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "지금까지 발급한 수", example = "1500")
+    private long issued;
+
+    @Schema(description = "처리한 chunk 수", example = "3")
+    private long chunks;
+
+    @Schema(description = "초당 발급 수", example = "4200")
+    private long issuedPerSecond;
+
+    @Schema(description = "시작 시각", example = "2025-06-01T10:00:00")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "종료 시각 (진행 중이면 null)", example = "2025-06-01T10:00:03", nullable = true)
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "실패 사유", nullable = true)
+    private String message;
+}
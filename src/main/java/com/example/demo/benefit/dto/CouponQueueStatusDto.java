@@ -0,0 +1,23 @@
+package com.example.demo.benefit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "선착순 쿠폰 대기열 상태")
+public class CouponQueueStatusDto {
+
+    @Schema(description = "쿠폰 ID", example = "1")
+    private Long couponId;
+
+    @Schema(description = "발급 요청 가능 여부 (true면 바로 발급 요청)", example = "false")
+    private boolean admitted;
+
+    @Schema(description = "내 앞에 남은 대기 인원 (입장 시 0)", example = "42")
+    private long position;
+
+    @Schema(description = "재고 소진 여부", example = "false")
+    private boolean soldOut;
+}
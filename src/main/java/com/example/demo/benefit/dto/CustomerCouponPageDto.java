@@ -0,0 +1,26 @@
+package com.example.demo.benefit.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "고객 쿠폰 지갑 페이지 응답 DTO (최근 발급순)")
+public class CustomerCouponPageDto {
+
+    @Schema(description = "이번 페이지의 쿠폰 목록")
+    private List<CustomerCouponDto> coupons;
+
+    @Schema(description = "다음 페이지 요청 시 cursorIssuedAt 값 (마지막 페이지면 null)", example = "2025-06-01T10:00:00", nullable = true)
+    private LocalDateTime nextCursorIssuedAt;
+
+    @Schema(description = "다음 페이지 요청 시 cursorId 값 (마지막 페이지면 null)", example = "a1b2c3d4-e5f6-7890-1234-567890abcdef", nullable = true)
+    private String nextCursorId;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private boolean hasNext;
+}
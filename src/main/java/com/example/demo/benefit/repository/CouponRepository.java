@@ -1,6 +1,7 @@
 package com.example.demo.benefit.repository;
 
 import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.store.dto.StoreCount;
 import com.example.demo.store.entity.Store;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,4 +54,91 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
             @Param("now") LocalDateTime now,
             @Param("district") String district
     );
+
+    // 비동기 저장된 발급 건수 반영
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + :count WHERE c.id = :id")
+    int increaseIssuedQuantity(@Param("id") Long id, @Param("count") int count);
+
+    // Redis 재고 기준으로 발급 수량 보정
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedQuantity = :issuedQuantity WHERE c.id = :id")
+    int updateIssuedQuantity(@Param("id") Long id, @Param("issuedQuantity") int issuedQuantity);
+
+    // 발급 가능 쿠폰 캐시 적재용 (매장/카테고리까지 한 번에 조회, 발급 시작 전 쿠폰 포함)
+    @Query("""
+    SELECT DISTINCT c FROM Coupon c
+    JOIN FETCH c.store s
+    LEFT JOIN FETCH c.applicableCategories
+    WHERE s.storeId = :storeId
+      AND c.status = 'ACTIVE'
+      AND (c.totalQuantity > c.issuedQuantity)
+""")
+    List<Coupon> findActiveCouponsWithDetailsByStoreId(@Param("storeId") Long storeId);
+
+    @Query("""
+    SELECT DISTINCT c FROM Coupon c
+    JOIN FETCH c.store s
+    LEFT JOIN FETCH c.applicableCategories
+    WHERE s.storeId IN :storeIds
+      AND c.status = 'ACTIVE'
+      AND (c.totalQuantity > c.issuedQuantity)
+""")
+    List<Coupon> findActiveCouponsWithDetailsByStoreIds(@Param("storeIds") Collection<Long> storeIds);
+
+    // 여러 매장의 지금 발급 가능한 쿠폰 수 (발급 시작은 KST, 만료일은 서버 시각 기준)
+    @Query("""
+    SELECT c.store.storeId AS storeId, COUNT(c) AS count FROM Coupon c
+    WHERE c.store.storeId IN :storeIds
+      AND c.status = 'ACTIVE'
+      AND (c.totalQuantity > c.issuedQuantity)
+      AND (c.issueStartTime IS NULL OR c.issueStartTime <= :kstNow)
+      AND (c.expiryDate IS NULL OR c.expiryDate > :now)
+    GROUP BY c.store.storeId
+""")
+    List<StoreCount> countAvailableByStoreIds(@Param("storeIds") Collection<Long> storeIds,
+                                              @Param("kstNow") LocalDateTime kstNow,
+                                              @Param("now") LocalDateTime now);
+
+    @Query("""
+    SELECT DISTINCT c FROM Coupon c
+    JOIN FETCH c.store s
+    LEFT JOIN FETCH c.applicableCategories
+    JOIN StoreLocation sl ON sl.store = s
+    WHERE sl.district = :district
+      AND c.status = 'ACTIVE'
+      AND (c.totalQuantity > c.issuedQuantity)
+""")
+    List<Coupon> findActiveCouponsWithDetailsByDistrict(@Param("district") String district);
+
+    @Query("""
+    SELECT DISTINCT c FROM Coupon c
+    JOIN FETCH c.store
+    LEFT JOIN FETCH c.applicableCategories
+    WHERE c.status = 'ACTIVE'
+      AND (c.totalQuantity > c.issuedQuantity)
+""")
+    List<Coupon> findActiveCouponsWithDetails();
+
+    // 발급 시작 알림용 단건 조회 (매장/카테고리 포함)
+    @Query("""
+    SELECT c FROM Coupon c
+    JOIN FETCH c.store
+    LEFT JOIN FETCH c.applicableCategories
+    WHERE c.id = :id
+""")
+    Optional<Coupon> findWithDetailsById(@Param("id") Long id);
+
+    // 타이머 등록용: 기간 안에 발급 시작(KST 기준) 또는 만료(서버 시각 기준)가 예정된 활성 쿠폰
+    @Query("""
+    SELECT c FROM Coupon c
+    JOIN FETCH c.store
+    WHERE c.status = 'ACTIVE'
+      AND ((c.issueStartTime > :startFrom AND c.issueStartTime <= :startUntil)
+        OR (c.expiryDate > :expiryFrom AND c.expiryDate <= :expiryUntil))
+""")
+    List<Coupon> findScheduledBetween(@Param("startFrom") LocalDateTime startFrom,
+                                      @Param("startUntil") LocalDateTime startUntil,
+                                      @Param("expiryFrom") LocalDateTime expiryFrom,
+                                      @Param("expiryUntil") LocalDateTime expiryUntil);
 }
@@ -2,6 +2,7 @@ package com.example.demo.benefit.repository;
 
 import com.example.demo.benefit.entity.Coupon;
 import com.example.demo.customer.entity.CustomerCoupon;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -25,6 +26,70 @@ public interface CustomerCouponRepository extends JpaRepository<CustomerCoupon,
 
 //    List<CustomerCoupon> findByCustomerId(Long customerId);
 
+    // 지갑 목록: 부모 쿠폰이 활성 상태이고 고객 쿠폰/부모 쿠폰 모두 만료되지 않은 것만 (사용한 쿠폰 포함)
+    @Query("""
+    SELECT cc FROM CustomerCoupon cc
+    JOIN FETCH cc.coupon c
+    JOIN FETCH c.store
+    WHERE cc.customer.customerId = :customerId
+      AND c.status = 'ACTIVE'
+      AND cc.expiresAt > :now
+      AND (c.expiryDate IS NULL OR c.expiryDate > :now)
+    ORDER BY cc.issuedAt DESC, cc.couponUuid DESC
+""")
+    List<CustomerCoupon> findWalletCoupons(@Param("customerId") Long customerId, @Param("now") LocalDateTime now);
+
+    // 지갑 첫 페이지 (최근 발급순)
+    @Query("""
+    SELECT cc FROM CustomerCoupon cc
+    JOIN FETCH cc.coupon c
+    JOIN FETCH c.store
+    WHERE cc.customer.customerId = :customerId
+      AND c.status = 'ACTIVE'
+      AND cc.expiresAt > :now
+      AND (c.expiryDate IS NULL OR c.expiryDate > :now)
+    ORDER BY cc.issuedAt DESC, cc.couponUuid DESC
+""")
+    List<CustomerCoupon> findWalletFirstPage(@Param("customerId") Long customerId,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
+
+    // 지갑 다음 페이지: 직전 페이지 마지막 항목(issuedAt, couponUuid) 이후부터 (OFFSET 없이 인덱스로 이어서 조회)
+    @Query("""
+    SELECT cc FROM CustomerCoupon cc
+    JOIN FETCH cc.coupon c
+    JOIN FETCH c.store
+    WHERE cc.customer.customerId = :customerId
+      AND c.status = 'ACTIVE'
+      AND cc.expiresAt > :now
+      AND (c.expiryDate IS NULL OR c.expiryDate > :now)
+      AND (cc.issuedAt < :cursorIssuedAt
+           OR (cc.issuedAt = :cursorIssuedAt AND cc.couponUuid < :cursorId))
+    ORDER BY cc.issuedAt DESC, cc.couponUuid DESC
+""")
+    List<CustomerCoupon> findWalletPageAfter(@Param("customerId") Long customerId,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("cursorIssuedAt") LocalDateTime cursorIssuedAt,
+                                             @Param("cursorId") String cursorId,
+                                             Pageable pageable);
+
+    // 결제 화면용: 해당 매장에서 지금 사용할 수 있는 쿠폰만
+    @Query("""
+    SELECT cc FROM CustomerCoupon cc
+    JOIN FETCH cc.coupon c
+    JOIN FETCH c.store s
+    WHERE cc.customer.customerId = :customerId
+      AND s.storeId = :storeId
+      AND cc.couponStatus = 'UNUSED'
+      AND c.status = 'ACTIVE'
+      AND cc.expiresAt > :now
+      AND (c.expiryDate IS NULL OR c.expiryDate > :now)
+    ORDER BY cc.expiresAt ASC
+""")
+    List<CustomerCoupon> findUsableInStore(@Param("customerId") Long customerId,
+                                           @Param("storeId") Long storeId,
+                                           @Param("now") LocalDateTime now);
+
     // 만료된 CustomerCoupon 삭제
     @Modifying
     @Query("DELETE FROM CustomerCoupon cc WHERE cc.expiresAt < :now")
@@ -46,4 +111,8 @@ public interface CustomerCouponRepository extends JpaRepository<CustomerCoupon,
         WHERE c.couponUuid = :uuid
         """)
     String findCouponNameByCouponUuid(@Param("uuid") String uuid);
+
+    // 해당 쿠폰을 발급받은 고객 ID 목록 (Redis 발급 상태 초기화용)
+    @Query("SELECT cc.customer.customerId FROM CustomerCoupon cc WHERE cc.coupon.id = :couponId")
+    List<Long> findCustomerIdsByCouponId(@Param("couponId") Long couponId);
 }
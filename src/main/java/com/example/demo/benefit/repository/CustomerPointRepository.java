@@ -3,9 +3,26 @@ package com.example.demo.benefit.repository;
 import com.example.demo.customer.entity.Customer;
 import com.example.demo.customer.entity.CustomerPoint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface CustomerPointRepository extends JpaRepository<CustomerPoint, Long> {
     Optional<CustomerPoint> findByCustomer(Customer customer);
+
+    @Query("SELECT p.pointAmount FROM CustomerPoint p WHERE p.customer.customerId = :customerId")
+    Optional<Long> findBalanceByCustomerId(@Param("customerId") Long customerId);
+
+    // 잔액 행이 없으면 0으로 생성 (customer_id 유니크 키로 중복 생성 방지)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO customer_point (customer_id, point_amount) VALUES (:customerId, 0)", nativeQuery = true)
+    int createIfAbsent(@Param("customerId") Long customerId);
+
+    // 잔액 원자적 증감 (차감 후 음수가 되면 반영하지 않고 0 반환)
+    @Modifying
+    @Query("UPDATE CustomerPoint p SET p.pointAmount = p.pointAmount + :delta " +
+            "WHERE p.customer.customerId = :customerId AND p.pointAmount + :delta >= 0")
+    int addBalance(@Param("customerId") Long customerId, @Param("delta") long delta);
 }
@@ -0,0 +1,12 @@
+package com.example.demo.benefit.repository;
+
+import com.example.demo.customer.entity.PointLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PointLedgerRepository extends JpaRepository<PointLedger, Long> {
+    List<PointLedger> findByCustomerIdOrderByIdDesc(Long customerId);
+
+    long countByCustomerId(Long customerId);
+}
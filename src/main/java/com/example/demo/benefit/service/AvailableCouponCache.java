@@ -0,0 +1,220 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.dto.CouponDto;
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.setting.webSock.ClusterTopicSender;
+import com.example.demo.store.service.StoreCardService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 발급 가능 쿠폰 목록 캐시 (매장별 / 구(district)별 / 전체)
+ *
+ * - 쿠폰 생성/수정/상태변경/삭제, 재고 소진 시 evictStore()로 해당 매장과 구/전체 목록을 비웁니다.
+ * - 발급 시작 전인 쿠폰도 함께 읽어 두고, 가장 빠른 발급 시작 시각이나 만료일이 되면 항목이 만료되도록 합니다.
+ *   (해당 시각에는 CouponAvailabilityTimer 도 목록을 비우고 구독자에게 알림)
+ * - 그 외에는 ttl-ms 동안 유지합니다. (발급 수량 표시는 그만큼 늦게 반영될 수 있음)
+ * - 클러스터 모드에서는 커밋 후 다른 노드에도 무효화를 알립니다.
+ * - 비우는 동안 진행 중이던 조회(커밋 전 데이터일 수 있음)의 결과는 캐시에 남기지 않습니다. (version)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailableCouponCache {
+
+    private static final String ALL_KEY = "all";
+    private static final String STORE_KEY_PREFIX = "store:";
+    private static final String DISTRICT_KEY_PREFIX = "district:";
+    private static final String CACHE_NAME = "available-coupons";
+
+    private final CouponRepository couponRepository;
+    private final StoreCardService storeCardService;
+    private final ClusterTopicSender clusterTopicSender;
+
+    @Value("${coupon.cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // 비울 때마다 증가, 조회 시작 때와 다르면 그 결과는 저장하지 않음
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        clusterTopicSender.onEvict(CACHE_NAME, storeId -> evictNow(Long.valueOf(storeId)));
+    }
+
+    public List<CouponDto> getByStore(Long storeId) {
+        return get(STORE_KEY_PREFIX + storeId, () -> couponRepository.findActiveCouponsWithDetailsByStoreId(storeId));
+    }
+
+    // 여러 매장 목록을 한 번에 (캐시에 없는 매장만 쿼리 한 번으로 읽어서 매장별로 저장)
+    public Map<Long, List<CouponDto>> getByStores(Collection<Long> storeIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, List<CouponDto>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long storeId : storeIds) {
+            Entry entry = entries.get(STORE_KEY_PREFIX + storeId);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                result.put(storeId, entry.coupons);
+            } else {
+                missing.add(storeId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        misses.add(missing.size());
+        long loadedVersion = version.get();
+        Map<Long, List<Coupon>> couponsByStore = new HashMap<>();
+        for (Coupon coupon : couponRepository.findActiveCouponsWithDetailsByStoreIds(missing)) {
+            couponsByStore.computeIfAbsent(coupon.getStore().getId(), id -> new ArrayList<>()).add(coupon);
+        }
+        for (Long storeId : missing) {
+            Entry entry = load(() -> couponsByStore.getOrDefault(storeId, List.of()), now);
+            store(STORE_KEY_PREFIX + storeId, entry, loadedVersion);
+            result.put(storeId, entry.coupons);
+        }
+        return result;
+    }
+
+    public List<CouponDto> getByDistrict(String district) {
+        return get(DISTRICT_KEY_PREFIX + district, () -> couponRepository.findActiveCouponsWithDetailsByDistrict(district));
+    }
+
+    public List<CouponDto> getAll() {
+        return get(ALL_KEY, couponRepository::findActiveCouponsWithDetails);
+    }
+
+    // 매장 쿠폰이 바뀌면 해당 매장, 전체, 구별 목록을 비움 (트랜잭션 중이면 커밋 후에도 한 번 더)
+    // 다른 노드에는 커밋된 뒤에 알려야 커밋 전 데이터를 다시 읽지 않음
+    public void evictStore(Long storeId) {
+        evictNow(storeId);
+        storeCardService.markDirty(storeId); // 매장 카드의 발급 가능 쿠폰 수
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(storeId);
+                    clusterTopicSender.broadcastEvict(CACHE_NAME, String.valueOf(storeId));
+                }
+            });
+        } else {
+            clusterTopicSender.broadcastEvict(CACHE_NAME, String.valueOf(storeId));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.cache.stats-log-ms:300000}")
+    public void logStats() {
+        log.info("발급 가능 쿠폰 캐시: {}", getStats());
+    }
+
+    private void evictNow(Long storeId) {
+        version.incrementAndGet();
+        entries.remove(STORE_KEY_PREFIX + storeId);
+        entries.remove(ALL_KEY);
+        // 매장의 구를 따로 조회하지 않고 구별 목록은 모두 비움 (구 개수가 많지 않음)
+        entries.keySet().removeIf(key -> key.startsWith(DISTRICT_KEY_PREFIX));
+    }
+
+    private List<CouponDto> get(String key, Supplier<List<Coupon>> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.coupons;
+        }
+
+        misses.increment();
+        long loadedVersion = version.get();
+        entry = load(loader, now);
+        store(key, entry, loadedVersion);
+        return entry.coupons;
+    }
+
+    // 조회하는 동안 무효화가 있었으면 저장하지 않음 (저장 직후 무효화된 경우도 되돌림)
+    private void store(String key, Entry entry, long loadedVersion) {
+        if (version.get() != loadedVersion) {
+            return;
+        }
+        entries.put(key, entry);
+        if (version.get() != loadedVersion) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private Entry load(Supplier<List<Coupon>> loader, long now) {
+        // 발급 시작 시간 비교는 기존 조회와 같이 KST(+9h) 기준, 만료일은 서버 시각 기준
+        LocalDateTime serverNow = LocalDateTime.now();
+        LocalDateTime current = serverNow.plusHours(9);
+        long nextChangeMs = ttlMs;
+        List<CouponDto> available = new ArrayList<>();
+
+        for (Coupon coupon : loader.get()) {
+            LocalDateTime expiryDate = coupon.getExpiryDate();
+            if (expiryDate != null && !expiryDate.isAfter(serverNow)) {
+                continue;
+            }
+
+            LocalDateTime startTime = coupon.getIssueStartTime();
+            if (startTime != null && startTime.isAfter(current)) {
+                nextChangeMs = Math.min(nextChangeMs, Duration.between(current, startTime).toMillis());
+                continue;
+            }
+
+            available.add(CouponDto.fromEntity(coupon));
+            if (expiryDate != null) {
+                nextChangeMs = Math.min(nextChangeMs, Duration.between(serverNow, expiryDate).toMillis());
+            }
+        }
+        return new Entry(List.copyOf(available), now + nextChangeMs);
+    }
+
+    private static class Entry {
+        private final List<CouponDto> coupons;
+        private final long expiresAt;
+
+        private Entry(List<CouponDto> coupons, long expiresAt) {
+            this.coupons = coupons;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
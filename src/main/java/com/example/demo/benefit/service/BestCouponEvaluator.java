@@ -0,0 +1,74 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.dto.BestCouponDto;
+import com.example.demo.benefit.repository.CustomerCouponRepository;
+import com.example.demo.customer.entity.CustomerCoupon;
+import com.example.demo.order.dto.OrderDTO;
+import com.example.demo.setting.exception.BusinessException;
+import com.example.demo.setting.exception.ErrorCode;
+import com.example.demo.store.entity.Store;
+import com.example.demo.store.repository.StoreMenuRepository;
+import com.example.demo.store.repository.StoreRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 장바구니에 가장 유리한 쿠폰 계산
+ *
+ * 고객이 매장에서 사용할 수 있는 쿠폰을 CompiledCouponRule 로 한 번 변환한 뒤,
+ * 장바구니를 카테고리별 금액 합계로 바꿔서 쿠폰마다 할인 금액을 계산하고 가장 큰 것을 고릅니다.
+ * (할인 금액이 같으면 만료가 빠른 쿠폰 우선)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BestCouponEvaluator {
+
+    private final CustomerCouponRepository customerCouponRepository;
+    private final StoreRepository storeRepository;
+    private final StoreMenuRepository storeMenuRepository;
+
+    public BestCouponDto findBestCoupon(Long customerId, Long storeId, List<OrderDTO> cart) {
+        Store store = storeRepository.findById(storeId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.STORE_NOT_FOUND));
+
+        MenuCategoryIndex index = new MenuCategoryIndex(storeMenuRepository.findByStore(store));
+        // 만료가 빠른 순으로 조회됨
+        List<CustomerCoupon> usable = customerCouponRepository.findUsableInStore(customerId, storeId, LocalDateTime.now());
+        return pickBest(compile(usable, index), index.summarize(cart));
+    }
+
+    public static List<CompiledCouponRule> compile(List<CustomerCoupon> coupons, MenuCategoryIndex index) {
+        List<CompiledCouponRule> rules = new ArrayList<>(coupons.size());
+        for (CustomerCoupon coupon : coupons) {
+            rules.add(CompiledCouponRule.compile(coupon, index));
+        }
+        return rules;
+    }
+
+    public static BestCouponDto pickBest(List<CompiledCouponRule> rules, MenuCategoryIndex.Cart cart) {
+        CompiledCouponRule best = null;
+        long bestDiscount = 0;
+        for (CompiledCouponRule rule : rules) {
+            long discount = rule.discountFor(cart);
+            if (discount > bestDiscount) {
+                best = rule;
+                bestDiscount = discount;
+            }
+        }
+
+        return BestCouponDto.builder()
+                .couponUuid(best != null ? best.getCouponUuid() : null)
+                .couponId(best != null ? best.getCouponId() : null)
+                .couponName(best != null ? best.getCouponName() : null)
+                .orderAmount(cart.getTotal())
+                .discountAmount(bestDiscount)
+                .finalAmount(cart.getTotal() - bestDiscount)
+                .build();
+    }
+}
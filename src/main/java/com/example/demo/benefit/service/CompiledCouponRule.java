@@ -0,0 +1,77 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.entity.DiscountType;
+import com.example.demo.customer.entity.CustomerCoupon;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 할인 계산용으로 미리 변환해 둔 고객 쿠폰
+ * 엔티티 대신 원시 값과 카테고리 비트마스크만 들고 있어서, 장바구니마다 여러 쿠폰을 계산할 때 객체를 만들지 않습니다.
+ */
+@Getter
+public class CompiledCouponRule {
+
+    private final String couponUuid;
+    private final Long couponId;
+    private final String couponName;
+    private final boolean percentage;
+    private final int discountValue;
+    private final long discountLimit;       // 없으면 Long.MAX_VALUE
+    private final long minimumOrderAmount;  // 없으면 0
+    private final long[] categoryMask;      // null이면 전체 메뉴에 적용
+
+    private CompiledCouponRule(CustomerCoupon customerCoupon, MenuCategoryIndex index) {
+        Coupon coupon = customerCoupon.getCoupon();
+        List<String> categories = coupon.getApplicableCategories();
+
+        this.couponUuid = customerCoupon.getCouponUuid();
+        this.couponId = coupon.getId();
+        this.couponName = coupon.getCouponName();
+        this.percentage = coupon.getDiscountType() == DiscountType.PERCENTAGE;
+        this.discountValue = coupon.getDiscountValue();
+        this.discountLimit = coupon.getDiscountLimit() != null ? coupon.getDiscountLimit() : Long.MAX_VALUE;
+        this.minimumOrderAmount = coupon.getMinimumOrderAmount() != null ? coupon.getMinimumOrderAmount() : 0L;
+        this.categoryMask = categories == null || categories.isEmpty() ? null : index.maskOf(categories);
+    }
+
+    public static CompiledCouponRule compile(CustomerCoupon customerCoupon, MenuCategoryIndex index) {
+        return new CompiledCouponRule(customerCoupon, index);
+    }
+
+    /**
+     * 장바구니에 적용했을 때의 할인 금액 (적용할 수 없으면 0)
+     * - 최소 주문 금액은 장바구니 전체 금액 기준
+     * - 적용 카테고리가 있으면 해당 카테고리 메뉴 금액에만 할인
+     */
+    public long discountFor(MenuCategoryIndex.Cart cart) {
+        if (cart.total < minimumOrderAmount) {
+            return 0;
+        }
+
+        long eligible = categoryMask == null ? cart.total : eligibleAmount(cart.categoryTotals);
+        if (eligible <= 0) {
+            return 0;
+        }
+
+        if (percentage) {
+            return Math.min(eligible * discountValue / 100, discountLimit);
+        }
+        return Math.min(discountValue, eligible);
+    }
+
+    private long eligibleAmount(long[] categoryTotals) {
+        long sum = 0;
+        for (int word = 0; word < categoryMask.length; word++) {
+            long bits = categoryMask[word];
+            while (bits != 0) {
+                int categoryId = (word << 6) + Long.numberOfTrailingZeros(bits);
+                sum += categoryTotals[categoryId];
+                bits &= bits - 1;
+            }
+        }
+        return sum;
+    }
+}
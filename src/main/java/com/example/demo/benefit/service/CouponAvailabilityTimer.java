@@ -0,0 +1,236 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.dto.CouponAvailabilityEvent;
+import com.example.demo.benefit.dto.CouponDto;
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.entity.CouponStatus;
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.setting.util.HierarchicalTimerWheel;
+import com.example.demo.setting.webSock.ClusterTopicSender;
+import com.example.demo.store.repository.StoreLocationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 예약된 쿠폰 발급 시작/만료 시각 타이머
+ *
+ * 시각이 되면 발급 가능 쿠폰 캐시를 비우고, 해당 매장과 구(district) 구독자에게
+ * CouponAvailabilityEvent 를 전송합니다. (클라이언트가 쿠폰 목록을 폴링하지 않아도 됨)
+ *
+ * - horizon-hours 안에 예정된 쿠폰만 휠에 올리고, reload-ms 마다 DB에서 다시 읽어 채웁니다.
+ * - 쿠폰이 생성/수정되면 커밋 후 schedule()로 바로 등록합니다. 이전 시각의 작업은 실행 시점에 무시됩니다.
+ * - 여러 노드로 운영할 때는 캐시는 노드마다 비우고, 알림은 Redis 키로 한 노드만 보냅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponAvailabilityTimer {
+
+    private static final String STORE_DESTINATION_PREFIX = "/topic/coupons/store/";
+    private static final String DISTRICT_DESTINATION_PREFIX = "/topic/coupons/district/";
+    private static final String FIRED_KEY_PREFIX = "coupon:timer:fired:";
+    private static final long KST_OFFSET_HOURS = 9; // issueStartTime 은 KST 기준으로 저장됨
+
+    private final CouponRepository couponRepository;
+    private final StoreLocationRepository storeLocationRepository;
+    private final AvailableCouponCache availableCouponCache;
+    private final ClusterTopicSender clusterTopicSender;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${coupon.timer.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${coupon.timer.horizon-hours:48}")
+    private long horizonHours;
+
+    private HierarchicalTimerWheel<Timeout> wheel;
+
+    // couponId:type -> 현재 유효한 마감 시각 (수정으로 시각이 바뀌면 이전 작업은 무시)
+    private final ConcurrentMap<String, Long> scheduled = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+
+    private final LongAdder firedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        // tick 기준 단계별 칸 수: 1분(600) / 1시간(60) / 1일(24) / 30일(30) (tick-ms 100 기준)
+        wheel = new HierarchicalTimerWheel<>(tickMs, System.currentTimeMillis(), 600, 60, 24, 30);
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    // horizon 안에 발급 시작/만료가 예정된 쿠폰을 휠에 등록 (기동 직후 한 번, 이후 주기적으로)
+    @Scheduled(fixedDelayString = "${coupon.timer.reload-ms:3600000}")
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusHours(horizonHours);
+        List<Coupon> coupons = couponRepository.findScheduledBetween(
+                now.plusHours(KST_OFFSET_HOURS), until.plusHours(KST_OFFSET_HOURS), now, until);
+        coupons.forEach(this::register);
+
+        int pending;
+        synchronized (this) {
+            pending = wheel.size();
+        }
+        log.info("쿠폰 타이머 재등록 - 대상: {}개, 대기: {}건, 실행: {}건, 무시: {}건",
+                coupons.size(), pending, firedCount.sum(), skippedCount.sum());
+    }
+
+    // 쿠폰 생성/수정 후 호출 (트랜잭션 중이면 커밋 후 등록)
+    public void schedule(Coupon coupon) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(coupon);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(coupon);
+            }
+        });
+    }
+
+    private void register(Coupon coupon) {
+        if (coupon.getStatus() != CouponStatus.ACTIVE) {
+            return;
+        }
+        Long storeId = coupon.getStore().getId();
+        add(coupon.getId(), storeId, CouponAvailabilityEvent.Type.ACTIVATED, deadlineOf(coupon, CouponAvailabilityEvent.Type.ACTIVATED));
+        add(coupon.getId(), storeId, CouponAvailabilityEvent.Type.EXPIRED, deadlineOf(coupon, CouponAvailabilityEvent.Type.EXPIRED));
+    }
+
+    private void add(Long couponId, Long storeId, CouponAvailabilityEvent.Type type, Long deadlineMs) {
+        long now = System.currentTimeMillis();
+        if (deadlineMs == null || deadlineMs <= now || deadlineMs > now + TimeUnit.HOURS.toMillis(horizonHours)) {
+            return;
+        }
+
+        Timeout timeout = new Timeout(couponId, storeId, type, deadlineMs);
+        Long previous = scheduled.put(timeout.key(), deadlineMs);
+        if (deadlineMs.equals(previous)) {
+            return; // 이미 같은 시각으로 등록됨
+        }
+
+        boolean added;
+        synchronized (this) {
+            added = wheel.add(deadlineMs, timeout);
+        }
+        if (!added) {
+            dispatcher.execute(() -> fire(timeout));
+        }
+    }
+
+    private void tick() {
+        try {
+            List<Timeout> due;
+            synchronized (this) {
+                due = wheel.advanceTo(System.currentTimeMillis());
+            }
+            for (Timeout timeout : due) {
+                dispatcher.execute(() -> fire(timeout));
+            }
+        } catch (Exception e) {
+            // 예외로 주기 실행이 멈추지 않도록 기록만 함
+            log.error("쿠폰 타이머 tick 처리 실패", e);
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            if (!scheduled.remove(timeout.key(), timeout.deadlineMs)) {
+                skippedCount.increment(); // 다른 시각으로 다시 등록됨
+                return;
+            }
+
+            Coupon coupon = couponRepository.findWithDetailsById(timeout.couponId).orElse(null);
+            availableCouponCache.evictStore(timeout.storeId);
+            if (coupon == null || coupon.getStatus() != CouponStatus.ACTIVE
+                    || !Long.valueOf(timeout.deadlineMs).equals(deadlineOf(coupon, timeout.type))) {
+                skippedCount.increment();
+                return;
+            }
+
+            if (clusterTopicSender.isClustered()) {
+                Boolean first = redisTemplate.opsForValue().setIfAbsent(
+                        FIRED_KEY_PREFIX + timeout.key() + ":" + timeout.deadlineMs, "1", Duration.ofMinutes(10));
+                if (!Boolean.TRUE.equals(first)) {
+                    return; // 다른 노드가 이미 알림을 보냄
+                }
+            }
+
+            String district = storeLocationRepository.findDistrictByStoreId(timeout.storeId).orElse(null);
+            CouponAvailabilityEvent event = CouponAvailabilityEvent.builder()
+                    .type(timeout.type)
+                    .couponId(timeout.couponId)
+                    .storeId(timeout.storeId)
+                    .district(district)
+                    .coupon(timeout.type == CouponAvailabilityEvent.Type.ACTIVATED ? CouponDto.fromEntity(coupon) : null)
+                    .occurredAt(LocalDateTime.now())
+                    .build();
+
+            clusterTopicSender.send(STORE_DESTINATION_PREFIX + timeout.storeId, event);
+            if (district != null) {
+                clusterTopicSender.send(DISTRICT_DESTINATION_PREFIX + district, event);
+            }
+            firedCount.increment();
+            log.info("쿠폰 {} 알림 전송 - couponId: {}, storeId: {}, 지연: {}ms", timeout.type, timeout.couponId,
+                    timeout.storeId, System.currentTimeMillis() - timeout.deadlineMs);
+        } catch (Exception e) {
+            log.error("쿠폰 타이머 실행 실패 - couponId: {}, type: {}", timeout.couponId, timeout.type, e);
+        }
+    }
+
+    // 발급 시작은 KST로 저장되어 있으므로 서버 시각으로 바꿔서 계산
+    private static Long deadlineOf(Coupon coupon, CouponAvailabilityEvent.Type type) {
+        LocalDateTime at = type == CouponAvailabilityEvent.Type.ACTIVATED
+                ? (coupon.getIssueStartTime() != null ? coupon.getIssueStartTime().minusHours(KST_OFFSET_HOURS) : null)
+                : coupon.getExpiryDate();
+        return at != null ? at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
+
+    private static class Timeout {
+        private final Long couponId;
+        private final Long storeId;
+        private final CouponAvailabilityEvent.Type type;
+        private final long deadlineMs;
+
+        private Timeout(Long couponId, Long storeId, CouponAvailabilityEvent.Type type, long deadlineMs) {
+            this.couponId = couponId;
+            this.storeId = storeId;
+            this.type = type;
+            this.deadlineMs = deadlineMs;
+        }
+
+        private String key() {
+            return couponId + ":" + type;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.dto.CouponCampaignProgressDto;
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.entity.CouponStatus;
+import com.example.demo.benefit.entity.ExpiryType;
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.setting.exception.BusinessException;
+import com.example.demo.setting.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 캠페인 쿠폰 일괄 발급
+ *
+ * 매장에서 주문한 적이 있는 고객 전체에게 쿠폰을 발급합니다.
+ * - 고객 ID 순으로 chunk-size 명씩 이어서 조회하고, 이미 받은 고객은 NOT EXISTS 로 한 번에 제외
+ * - chunk마다 짧은 트랜잭션에서 쿠폰 행을 잠그고 남은 수량만큼만 JDBC 배치 insert, 발급 수량은 한 번만 증가
+ * - 진행 상황은 jobId 로 조회
+ *
+ * 작업 동안에는 선착순 발급(Redis)을 막고 당첨 건을 모두 DB에 반영한 뒤 진행합니다. (DB 수량과 발급받은 고객 기준)
+ * 끝나면 다시 허용하고, 다음 선착순 발급 때 Redis 상태가 DB 기준으로 새로 만들어집니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponCampaignService {
+
+    private final CouponRepository couponRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponIssueEngine couponIssueEngine;
+    private final AvailableCouponCache availableCouponCache;
+
+    @Value("${coupon.campaign.chunk-size:1000}")
+    private int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, String> runningByCoupon = new ConcurrentHashMap<>();
+
+    public CouponCampaignProgressDto start(Long storeId, Long couponId) {
+        Coupon coupon = couponRepository.findById(couponId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
+        if (coupon.getStore().getId() != storeId.longValue()) {
+            throw new BusinessException(ErrorCode.PERMISSION_DENIED);
+        }
+        if (coupon.getStatus() != CouponStatus.ACTIVE) {
+            throw new BusinessException(ErrorCode.COUPON_NOT_ACTIVE);
+        }
+        if (coupon.getIssuedQuantity() >= coupon.getTotalQuantity()) {
+            throw new BusinessException(ErrorCode.COUPON_EXHAUSTED);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), storeId, couponId);
+        if (runningByCoupon.putIfAbsent(couponId, job.jobId) != null) {
+            throw new IllegalStateException("이미 진행 중인 일괄 발급 작업이 있습니다.");
+        }
+        pruneFinishedJobs();
+        jobs.put(job.jobId, job);
+
+        executor.execute(() -> run(job));
+        return job.toDto();
+    }
+
+    public CouponCampaignProgressDto getProgress(Long storeId, String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.storeId.equals(storeId)) {
+            throw new IllegalArgumentException("해당 일괄 발급 작업이 없습니다.");
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        log.info("캠페인 쿠폰 발급 시작 - jobId: {}, storeId: {}, couponId: {}", job.jobId, job.storeId, job.couponId);
+        try {
+            long lastCustomerId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                couponIssueEngine.pause(job.couponId); // 선착순 발급 중지 유지
+                long cursor = lastCustomerId;
+                ChunkResult result = transactionTemplate.execute(status -> issueChunk(job, cursor));
+                if (result == null || result.lastCustomerId == null) {
+                    job.finish(result != null && result.soldOut ? "SOLD_OUT" : "COMPLETED", null);
+                    break;
+                }
+
+                lastCustomerId = result.lastCustomerId;
+                job.issued += result.issued;
+                job.chunks++;
+                log.info("캠페인 쿠폰 발급 진행 - jobId: {}, 발급: {}건, 속도: {}건/초", job.jobId, job.issued, job.rate());
+            }
+        } catch (Exception e) {
+            job.finish("FAILED", e.getMessage());
+            log.error("캠페인 쿠폰 발급 실패 - jobId: {}", job.jobId, e);
+        } finally {
+            runningByCoupon.remove(job.couponId, job.jobId);
+            couponIssueEngine.resume(job.couponId);
+            availableCouponCache.evictStore(job.storeId);
+            log.info("캠페인 쿠폰 발급 종료 - jobId: {}, 상태: {}, 발급: {}건, chunk: {}개, 속도: {}건/초",
+                    job.jobId, job.status, job.issued, job.chunks, job.rate());
+        }
+    }
+
+    // 쿠폰 행을 잠근 상태에서 다음 고객 묶음을 발급 (트랜잭션 하나)
+    private ChunkResult issueChunk(Job job, long lastCustomerId) {
+        Map<String, Object> coupon = jdbcTemplate.queryForMap(
+                "SELECT total_quantity, issued_quantity, expiry_type, expiry_date, expiry_days "
+                        + "FROM coupon WHERE id = ? FOR UPDATE", job.couponId);
+        int remaining = ((Number) coupon.get("total_quantity")).intValue() - ((Number) coupon.get("issued_quantity")).intValue();
+        if (remaining <= 0) {
+            return new ChunkResult(null, 0, true);
+        }
+
+        List<Long> customerIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT cs.customer_id FROM customer_statistics cs "
+                        + "WHERE cs.store_id = ? AND cs.customer_id > ? "
+                        + "AND NOT EXISTS (SELECT 1 FROM customer_coupon cc "
+                        + "WHERE cc.coupon_id = ? AND cc.customer_id = cs.customer_id) "
+                        + "ORDER BY cs.customer_id LIMIT ?",
+                Long.class, job.storeId, lastCustomerId, job.couponId, Math.min(chunkSize, remaining));
+        if (customerIds.isEmpty()) {
+            return new ChunkResult(null, 0, false);
+        }
+
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = ExpiryType.ABSOLUTE.name().equals(coupon.get("expiry_type"))
+                ? ((Timestamp) coupon.get("expiry_date")).toLocalDateTime()
+                : issuedAt.plusDays(((Number) coupon.get("expiry_days")).longValue());
+
+        List<Object[]> rows = new ArrayList<>(customerIds.size());
+        for (Long customerId : customerIds) {
+            rows.add(new Object[]{UUID.randomUUID().toString(), job.couponId, customerId,
+                    CouponStatus.UNUSED.name(), Timestamp.valueOf(issuedAt), Timestamp.valueOf(expiresAt)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer_coupon "
+                + "(coupon_uuid, coupon_id, customer_id, coupon_status, issued_at, expires_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        couponRepository.increaseIssuedQuantity(job.couponId, customerIds.size());
+
+        return new ChunkResult(customerIds.get(customerIds.size() - 1), customerIds.size(), customerIds.size() == remaining);
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusDays(1);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    private static class ChunkResult {
+        private final Long lastCustomerId; // null이면 더 발급할 고객이 없음
+        private final int issued;
+        private final boolean soldOut;
+
+        private ChunkResult(Long lastCustomerId, int issued, boolean soldOut) {
+            this.lastCustomerId = lastCustomerId;
+            this.issued = issued;
+            this.soldOut = soldOut;
+        }
+    }
+
+    private static class Job {
+        private final String jobId;
+        private final Long storeId;
+        private final Long couponId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedAtMs = System.currentTimeMillis();
+        private volatile String status = "RUNNING";
+        private volatile long issued;
+        private volatile long chunks;
+        private volatile long finishedAtMs;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        private Job(String jobId, Long storeId, Long couponId) {
+            this.jobId = jobId;
+            this.storeId = storeId;
+            this.couponId = couponId;
+        }
+
+        private void finish(String status, String message) {
+            this.status = status;
+            this.message = message;
+            this.finishedAtMs = System.currentTimeMillis();
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        private long rate() {
+            long end = finishedAtMs != 0 ? finishedAtMs : System.currentTimeMillis();
+            return issued * 1000 / Math.max(1, end - startedAtMs);
+        }
+
+        private CouponCampaignProgressDto toDto() {
+            return CouponCampaignProgressDto.builder()
+                    .jobId(jobId)
+                    .couponId(couponId)
+                    .status(status)
+                    .issued(issued)
+                    .chunks(chunks)
+                    .issuedPerSecond(rate())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .message(message)
+                    .build();
+        }
+    }
+}
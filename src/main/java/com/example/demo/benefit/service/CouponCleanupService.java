@@ -1,57 +1,273 @@
 package com.example.demo.benefit.service;
 
-import com.example.demo.benefit.entity.CouponStatus;
-import com.example.demo.benefit.repository.CouponRepository;
-import com.example.demo.benefit.repository.CustomerCouponRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
+/**
+ * 만료/사용된 쿠폰 정리
+ *
+ * 한 번에 전체를 DELETE 하지 않고 PK 순으로 chunk-size 건씩 짧은 트랜잭션으로 지우고,
+ * chunk 사이에 pause-ms 만큼 쉬어서 잠금 시간과 undo 로그를 작게 유지합니다.
+ *
+ * 진행 상황(단계, 마지막으로 지운 키, 기준 시각)은 chunk마다 Redis에 기록하므로
+ * 도중에 서버가 내려가도 다음 실행 때 이어서 진행합니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CouponCleanupService {
 
-    private final CustomerCouponRepository customerCouponRepository;
-    private final CouponRepository couponRepository;
+    private static final String CHECKPOINT_KEY = "coupon:cleanup:checkpoint";
+    private static final String LOCK_KEY = "coupon:cleanup:lock";
+
+    // 자기가 잡은 잠금일 때만 해제 (TTL이 지나 다른 노드가 이어받은 잠금은 그대로 둠)
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CouponIssueEngine couponIssueEngine;
+    private final AvailableCouponCache availableCouponCache;
+
+    @Value("${coupon.cleanup.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${coupon.cleanup.pause-ms:100}")
+    private long pauseMs;
+
+    // 이 시간 안에 끝나지 않으면 다른 노드가 이어받을 수 있음
+    @Value("${coupon.cleanup.lock-ttl-minutes:60}")
+    private long lockTtlMinutes;
 
     /**
-     * 매일 자정과 정오에 만료된 쿠폰들을 정리
+     * 정리 단계 (순서대로 진행)
      * 1. 만료된 CustomerCoupon 삭제 (expiresAt 기준)
      * 2. 사용된 CustomerCoupon 삭제 (USED 상태)
-     * 3. 만료된 Coupon 엔티티 및 관련 CustomerCoupon 모두 삭제 (expiryDate 기준)
+     * 3. 만료된 Coupon 에 남아 있는 CustomerCoupon 삭제 (expiryDate 기준)
+     * 4. 만료된 Coupon 과 적용 카테고리 삭제
+     */
+    enum Phase {
+        EXPIRED_CUSTOMER_COUPON,
+        USED_CUSTOMER_COUPON,
+        EXPIRED_COUPON_ISSUED,
+        EXPIRED_COUPON
+    }
+
+    /**
+     * 매일 자정과 정오에 만료된 쿠폰들을 정리
+     * 이전 실행이 중간에 끊겼다면 그 기준 시각/단계/키부터 이어서 진행합니다.
      */
     @Scheduled(cron = "${coupon.cleanup.cron}")
-    @Transactional
     public void cleanupExpiredCoupons() {
-        log.info("만료된 쿠폰 정리 작업을 시작합니다.");
+        String lockToken = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockToken, Duration.ofMinutes(lockTtlMinutes));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("다른 노드에서 쿠폰 정리 작업이 진행 중입니다.");
+            return;
+        }
+
         try {
-            LocalDateTime now = LocalDateTime.now();
+            Checkpoint checkpoint = loadCheckpoint();
+            if (checkpoint.resumed) {
+                log.info("쿠폰 정리 작업을 이어서 진행합니다. 기준 시각: {}, 단계: {}, 마지막 키: {}",
+                        checkpoint.cutoff, checkpoint.phase, checkpoint.lastKey);
+            } else {
+                log.info("만료된 쿠폰 정리 작업을 시작합니다. 기준 시각: {}", checkpoint.cutoff);
+            }
 
-            // 1. 만료된 CustomerCoupon 삭제 (expiresAt 기준)
-            int expiredCustomerCoupons = customerCouponRepository.deleteByExpiresAtBefore(now);
-            log.info("만료된 CustomerCoupon {} 개를 삭제했습니다.", expiredCustomerCoupons);
+            Map<Phase, Long> deleted = new HashMap<>();
+            for (Phase phase : Phase.values()) {
+                if (phase.ordinal() < checkpoint.phase.ordinal()) {
+                    continue;
+                }
+                String startKey = phase == checkpoint.phase ? checkpoint.lastKey : null;
+                deleted.put(phase, runPhase(phase, checkpoint.cutoff, startKey));
+            }
 
-            // 2. 사용된 CustomerCoupon 삭제 (USED 상태)
-            int usedCustomerCoupons = customerCouponRepository.deleteByCouponStatus(
-                com.example.demo.benefit.entity.CouponStatus.USED
-            );
-            log.info("사용된 CustomerCoupon {} 개를 삭제했습니다.", usedCustomerCoupons);
+            redisTemplate.delete(CHECKPOINT_KEY);
+            log.info("만료된 쿠폰 정리 작업이 성공적으로 완료되었습니다. " +
+                            "CustomerCoupon(만료): {}, CustomerCoupon(사용됨): {}, CustomerCoupon(만료 쿠폰): {}, Coupon(만료): {}",
+                    deleted.getOrDefault(Phase.EXPIRED_CUSTOMER_COUPON, 0L),
+                    deleted.getOrDefault(Phase.USED_CUSTOMER_COUPON, 0L),
+                    deleted.getOrDefault(Phase.EXPIRED_COUPON_ISSUED, 0L),
+                    deleted.getOrDefault(Phase.EXPIRED_COUPON, 0L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("쿠폰 정리 작업이 중단되었습니다. 다음 실행 때 이어서 진행합니다.");
+        } catch (Exception e) {
+            log.error("만료된 쿠폰 정리 중 오류가 발생했습니다. 다음 실행 때 이어서 진행합니다.", e);
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), lockToken);
+        }
+    }
 
-            // 3. 만료된 Coupon 엔티티 및 관련 CustomerCoupon 모두 삭제
-            int expiredCoupons = couponRepository.deleteByExpiryDateBefore(now);
-            log.info("만료된 Coupon {} 개와 관련된 모든 CustomerCoupon을 삭제했습니다.", expiredCoupons);
+    private long runPhase(Phase phase, LocalDateTime cutoff, String startKey) throws InterruptedException {
+        long startedAt = System.currentTimeMillis();
+        long total = 0;
+        long chunks = 0;
+        String lastKey = startKey;
 
-            log.info("만료된 쿠폰 정리 작업이 성공적으로 완료되었습니다. " +
-                    "CustomerCoupon(만료): {}, CustomerCoupon(사용됨): {}, Coupon(만료): {}",
-                    expiredCustomerCoupons, usedCustomerCoupons, expiredCoupons);
+        while (true) {
+            List<String> keys = selectChunk(phase, cutoff, lastKey);
+            if (keys.isEmpty()) {
+                break;
+            }
 
-        } catch (Exception e) {
-            log.error("만료된 쿠폰 정리 중 오류가 발생했습니다.", e);
+            Set<Long> storeIds = transactionTemplate.execute(status -> deleteChunk(phase, keys));
+            if (phase == Phase.EXPIRED_COUPON) {
+                // 삭제가 커밋된 뒤 선착순 발급 상태와 대기 중인 발급 건, 발급 가능 목록 캐시 정리
+                couponIssueEngine.discard(keys.stream().map(Long::valueOf).toList());
+                storeIds.forEach(availableCouponCache::evictStore);
+            }
+            lastKey = keys.get(keys.size() - 1);
+            saveCheckpoint(cutoff, phase, lastKey);
+
+            total += keys.size();
+            chunks++;
+            if (chunks % 10 == 0) {
+                log.info("쿠폰 정리 진행 중 - 단계: {}, 삭제: {}건, 속도: {}건/초", phase, total, rate(total, startedAt));
+            }
+            if (keys.size() < chunkSize) {
+                break;
+            }
+            if (pauseMs > 0) {
+                Thread.sleep(pauseMs);
+            }
+        }
+
+        // 다음 단계는 처음 키부터 시작
+        saveCheckpoint(cutoff, next(phase), null);
+        log.info("쿠폰 정리 단계 완료 - 단계: {}, 삭제: {}건, chunk: {}개, 소요: {}ms, 속도: {}건/초",
+                phase, total, chunks, System.currentTimeMillis() - startedAt, rate(total, startedAt));
+        return total;
+    }
+
+    // 삭제 대상 키를 PK 순으로 chunk-size 만큼 조회 (직전 chunk 마지막 키 이후부터)
+    private List<String> selectChunk(Phase phase, LocalDateTime cutoff, String lastKey) {
+        Timestamp at = Timestamp.valueOf(cutoff);
+        return switch (phase) {
+            case EXPIRED_CUSTOMER_COUPON -> jdbcTemplate.queryForList(
+                    "SELECT coupon_uuid FROM customer_coupon WHERE expires_at < ? AND coupon_uuid > ? "
+                            + "ORDER BY coupon_uuid LIMIT ?",
+                    String.class, at, lastKey != null ? lastKey : "", chunkSize);
+            case USED_CUSTOMER_COUPON -> jdbcTemplate.queryForList(
+                    "SELECT coupon_uuid FROM customer_coupon WHERE coupon_status = 'USED' AND coupon_uuid > ? "
+                            + "ORDER BY coupon_uuid LIMIT ?",
+                    String.class, lastKey != null ? lastKey : "", chunkSize);
+            case EXPIRED_COUPON_ISSUED -> jdbcTemplate.queryForList(
+                    "SELECT cc.coupon_uuid FROM customer_coupon cc JOIN coupon c ON c.id = cc.coupon_id "
+                            + "WHERE c.expiry_date IS NOT NULL AND c.expiry_date < ? AND cc.coupon_uuid > ? "
+                            + "ORDER BY cc.coupon_uuid LIMIT ?",
+                    String.class, at, lastKey != null ? lastKey : "", chunkSize);
+            case EXPIRED_COUPON -> jdbcTemplate.queryForList(
+                    "SELECT id FROM coupon WHERE expiry_date IS NOT NULL AND expiry_date < ? AND id > ? "
+                            + "ORDER BY id LIMIT ?",
+                    Long.class, at, lastKey != null ? Long.parseLong(lastKey) : 0L, chunkSize)
+                    .stream().map(String::valueOf).toList();
+        };
+    }
+
+    // 삭제한 쿠폰의 매장 ID 반환 (쿠폰 삭제 단계만)
+    private Set<Long> deleteChunk(Phase phase, List<String> keys) {
+        if (phase != Phase.EXPIRED_COUPON) {
+            jdbcTemplate.batchUpdate("DELETE FROM customer_coupon WHERE coupon_uuid = ?", toArgs(keys));
+            return Set.of();
+        }
+
+        // 쿠폰 행을 먼저 잠가서, 저장 중인 선착순 발급 건이 끝난 뒤에 발급 내역까지 함께 지움
+        List<Object[]> ids = toArgs(keys.stream().map(Long::valueOf).toList());
+        Set<Long> storeIds = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT store_id FROM coupon WHERE id IN (" + placeholders(keys.size()) + ") ORDER BY id FOR UPDATE",
+                Long.class, keys.stream().map(Long::valueOf).toArray()));
+
+        jdbcTemplate.batchUpdate("DELETE FROM customer_coupon WHERE coupon_id = ?", ids);
+        jdbcTemplate.batchUpdate("DELETE FROM coupon_applicable_categories WHERE coupon_id = ?", ids);
+        jdbcTemplate.batchUpdate("DELETE FROM coupon WHERE id = ?", ids);
+        return storeIds;
+    }
+
+    private Checkpoint loadCheckpoint() {
+        Map<Object, Object> saved = redisTemplate.opsForHash().entries(CHECKPOINT_KEY);
+        if (saved.isEmpty()) {
+            LocalDateTime cutoff = LocalDateTime.now();
+            saveCheckpoint(cutoff, Phase.EXPIRED_CUSTOMER_COUPON, null);
+            return new Checkpoint(cutoff, Phase.EXPIRED_CUSTOMER_COUPON, null, false);
+        }
+        return new Checkpoint(
+                LocalDateTime.parse((String) saved.get("cutoff")),
+                Phase.valueOf((String) saved.get("phase")),
+                (String) saved.get("lastKey"),
+                true);
+    }
+
+    private void saveCheckpoint(LocalDateTime cutoff, Phase phase, String lastKey) {
+        if (phase == null) {
+            return; // 마지막 단계 완료 (체크포인트는 작업 종료 시 삭제)
+        }
+        Map<String, String> values = new HashMap<>();
+        values.put("cutoff", cutoff.toString());
+        values.put("phase", phase.name());
+        redisTemplate.opsForHash().putAll(CHECKPOINT_KEY, values);
+        if (lastKey != null) {
+            redisTemplate.opsForHash().put(CHECKPOINT_KEY, "lastKey", lastKey);
+        } else {
+            redisTemplate.opsForHash().delete(CHECKPOINT_KEY, "lastKey");
+        }
+    }
+
+    private static Phase next(Phase phase) {
+        Phase[] phases = Phase.values();
+        return phase.ordinal() + 1 < phases.length ? phases[phase.ordinal() + 1] : null;
+    }
+
+    private static List<Object[]> toArgs(List<?> keys) {
+        List<Object[]> args = new ArrayList<>(keys.size());
+        keys.forEach(key -> args.add(new Object[]{key}));
+        return args;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static long rate(long rows, long startedAt) {
+        long elapsed = Math.max(1, System.currentTimeMillis() - startedAt);
+        return rows * 1000 / elapsed;
+    }
+
+    private static class Checkpoint {
+        private final LocalDateTime cutoff;
+        private final Phase phase;
+        private final String lastKey;
+        private final boolean resumed;
+
+        private Checkpoint(LocalDateTime cutoff, Phase phase, String lastKey, boolean resumed) {
+            this.cutoff = cutoff;
+            this.phase = phase;
+            this.lastKey = lastKey;
+            this.resumed = resumed;
         }
     }
 }
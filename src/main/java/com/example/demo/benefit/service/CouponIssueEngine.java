@@ -0,0 +1,674 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.dto.CustomerCouponDto;
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.entity.CouponStatus;
+import com.example.demo.benefit.entity.DiscountType;
+import com.example.demo.benefit.entity.ExpiryType;
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.benefit.repository.CustomerCouponRepository;
+import com.example.demo.setting.exception.BusinessException;
+import com.example.demo.setting.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 기반 선착순 쿠폰 발급
+ *
+ * - 남은 수량(coupon:stock:{id})과 발급받은 고객 집합(coupon:issued:{id})을 Redis에 두고,
+ *   중복 확인 + 재고 차감 + 발급 대기열 적재를 Lua 스크립트 하나로 원자적으로 처리합니다. (DB 행 잠금 없음)
+ * - 대기열(coupon:issue:queue)에 쌓인 당첨 건은 주기적으로 노드별 처리 목록(coupon:issue:processing:{nodeId})으로
+ *   옮긴 뒤 customer_coupon 에 배치 insert 하고 Coupon.issuedQuantity 를 함께 늘립니다.
+ *   처리 목록은 DB 커밋 후에 지우므로, 저장 중 노드가 죽으면 다른 노드가 대기열로 되돌립니다. (이미 저장된 건은 건너뜀)
+ * - 저장할 수 없는 항목(형식 오류, 제약 위반)은 배치에서 빼서 coupon:issue:dead 목록에 보관합니다.
+ * - 대기열과 모든 처리 목록이 비어 있을 때만 Redis 재고 기준으로 issuedQuantity 를 다시 맞춥니다.
+ *
+ * Redis 상태는 쿠폰이 처음 발급 요청될 때 DB 값과 저장 대기 중인 건으로 만들어지고,
+ * 쿠폰이 수정/삭제되면 커밋 후 invalidate()로 지워집니다.
+ * 발급 조건과 응답에 필요한 쿠폰 정보도 coupon:meta:{id} 에 함께 두므로, 발급 요청은 DB를 읽지 않습니다.
+ * (쿠폰 정보는 지울 때 버전을 올리고, DB를 읽기 전에 본 버전이 그대로일 때만 저장)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponIssueEngine {
+
+    private static final String STOCK_KEY_PREFIX = "coupon:stock:";
+    private static final String META_KEY_PREFIX = "coupon:meta:";
+    private static final String META_VERSION_KEY_PREFIX = "coupon:meta:ver:";
+    private static final String ISSUED_KEY_PREFIX = "coupon:issued:";
+    private static final String QUEUE_KEY = "coupon:issue:queue";
+    private static final String ACTIVE_KEY = "coupon:issue:active";
+    private static final String PROCESSING_KEY_PREFIX = "coupon:issue:processing:";
+    private static final String PROCESSING_SET_KEY = "coupon:issue:processing"; // 처리 목록 키 모음
+    private static final String NODE_KEY_PREFIX = "coupon:issue:node:"; // 노드 생존 표시
+    private static final String DEAD_KEY = "coupon:issue:dead";
+    private static final String PAUSED_KEY_PREFIX = "coupon:issue:paused:"; // 일괄 발급 중인 쿠폰
+
+    private static final long PAUSED = -3L;
+    private static final long NOT_INITIALIZED = -2L;
+    private static final long DUPLICATE = -1L;
+    private static final long EXHAUSTED = 0L;
+    private static final long SOLD_OUT = 2L; // 이번 발급으로 마지막 수량이 나감
+
+    // KEYS: stock, issued, queue, paused / ARGV: customerId, 대기열 항목
+    private static final RedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[4]) == 1 then return -3 end "
+                    + "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end "
+                    + "if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then return -1 end "
+                    + "if tonumber(redis.call('GET', KEYS[1])) <= 0 then return 0 end "
+                    + "local remaining = redis.call('DECR', KEYS[1]) "
+                    + "redis.call('SADD', KEYS[2], ARGV[1]) "
+                    + "redis.call('RPUSH', KEYS[3], ARGV[2]) "
+                    + "if remaining == 0 then return 2 end "
+                    + "return 1",
+            Long.class);
+
+    // KEYS: stock, issued, active, paused / ARGV: couponId, 남은 수량, 이미 발급받은 customerId...
+    private static final RedisScript<Long> INIT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[4]) == 1 then return 0 end "
+                    + "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end "
+                    + "for i = 3, #ARGV do redis.call('SADD', KEYS[2], ARGV[i]) end "
+                    + "redis.call('SET', KEYS[1], ARGV[2]) "
+                    + "redis.call('SADD', KEYS[3], ARGV[1]) "
+                    + "return 1",
+            Long.class);
+
+    // KEYS: meta, meta version / ARGV: 읽기 전 버전(없으면 ""), 쿠폰 정보, ttl 초
+    private static final RedisScript<Long> META_FILL_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('GET', KEYS[2]) or '' "
+                    + "if v == ARGV[1] then redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) return 1 end "
+                    + "return 0",
+            Long.class);
+
+    // KEYS: stock, issued, meta, meta version, active / ARGV: couponId, 버전 ttl 초
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1], KEYS[2], KEYS[3]) "
+                    + "redis.call('INCR', KEYS[4]) "
+                    + "redis.call('EXPIRE', KEYS[4], ARGV[2]) "
+                    + "redis.call('SREM', KEYS[5], ARGV[1]) "
+                    + "return 1",
+            Long.class);
+
+    // KEYS: queue, processing, processing set, node / ARGV: 최대 건수, 노드 생존 표시 ms
+    // 대기열 앞쪽 항목을 처리 목록으로 옮기고 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> MOVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[4], '1', 'PX', ARGV[2]) "
+                    + "local items = redis.call('LRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1) "
+                    + "if #items == 0 then return items end "
+                    + "redis.call('LTRIM', KEYS[1], #items, -1) "
+                    + "redis.call('SADD', KEYS[3], KEYS[2]) "
+                    + "redis.call('RPUSH', KEYS[2], unpack(items)) "
+                    + "return items",
+            List.class);
+
+    // KEYS: processing(죽은 노드), queue, processing set, node / 노드가 살아 있으면 0
+    private static final RedisScript<Long> RECOVER_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[4]) == 1 then return 0 end "
+                    + "local items = redis.call('LRANGE', KEYS[1], 0, -1) "
+                    + "for i = #items, 1, -1 do redis.call('LPUSH', KEYS[2], items[i]) end "
+                    + "redis.call('DEL', KEYS[1]) "
+                    + "redis.call('SREM', KEYS[3], KEYS[1]) "
+                    + "return #items",
+            Long.class);
+
+    // KEYS: queue, processing set / ARGV: couponId
+    // 아직 DB에 저장되지 않은 해당 쿠폰의 발급 건 (대기열 + 모든 노드의 처리 목록)의 customerId
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PENDING_SCRIPT = new DefaultRedisScript<>(
+            "local result = {} "
+                    + "local lists = redis.call('SMEMBERS', KEYS[2]) "
+                    + "table.insert(lists, KEYS[1]) "
+                    + "for _, key in ipairs(lists) do "
+                    + "  for _, item in ipairs(redis.call('LRANGE', key, 0, -1)) do "
+                    + "    local couponId, customerId = string.match(item, '^[^|]*|(%d+)|(%d+)|') "
+                    + "    if couponId == ARGV[1] then table.insert(result, customerId) end "
+                    + "  end "
+                    + "end "
+                    + "return result",
+            List.class);
+
+    // KEYS: queue / ARGV: couponId... 해당 쿠폰들의 대기열 항목을 지우고 지운 수 반환
+    private static final RedisScript<Long> DISCARD_SCRIPT = new DefaultRedisScript<>(
+            "local ids = {} "
+                    + "for i = 1, #ARGV do ids[ARGV[i]] = true end "
+                    + "local removed = 0 "
+                    + "for _, item in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do "
+                    + "  local couponId = string.match(item, '^[^|]*|(%d+)|') "
+                    + "  if couponId and ids[couponId] then "
+                    + "    removed = removed + redis.call('LREM', KEYS[1], 1, item) "
+                    + "  end "
+                    + "end "
+                    + "return removed",
+            Long.class);
+
+    // KEYS: queue, processing set, stock / 저장 대기 건이 있으면 -1, 재고 키가 없으면 -2
+    private static final RedisScript<Long> STOCK_IF_IDLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('LLEN', KEYS[1]) > 0 then return -1 end "
+                    + "for _, key in ipairs(redis.call('SMEMBERS', KEYS[2])) do "
+                    + "  if redis.call('LLEN', key) > 0 then return -1 end "
+                    + "end "
+                    + "local stock = redis.call('GET', KEYS[3]) "
+                    + "if not stock then return -2 end "
+                    + "return tonumber(stock)",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CouponRepository couponRepository;
+    private final CustomerCouponRepository customerCouponRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AvailableCouponCache availableCouponCache;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 호출한 쪽 트랜잭션과 상관없이 따로 커밋
+    private TransactionTemplate requiresNew;
+
+    // 품절된 쿠폰의 매장 (발급 수량이 DB에 반영된 뒤 목록 캐시를 한 번 더 비움)
+    private final Set<Long> soldOutStores = ConcurrentHashMap.newKeySet();
+
+    @Value("${coupon.issue.batch-size:500}")
+    private int batchSize;
+
+    @Value("${coupon.issue.recover-ms:10000}")
+    private long recoverMs;
+
+    @Value("${coupon.issue.pause-ttl-seconds:300}")
+    private long pauseTtlSeconds;
+
+    @Value("${coupon.issue.drain-timeout-ms:30000}")
+    private long drainTimeoutMs;
+
+    // 쿠폰 정보 캐시 유지 시간 (쿠폰 수정은 invalidate 로 바로 반영, 매장명 등은 이 시간 안에 반영)
+    @Value("${coupon.issue.meta-ttl-seconds:600}")
+    private long metaTtlSeconds;
+
+    @PostConstruct
+    public void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 선착순 발급 (customerId 는 인증된 고객의 ID, 존재 여부는 다시 확인하지 않음)
+     * 쿠폰 정보와 재고가 Redis 에 있으면 DB를 읽지 않고 Lua 스크립트 한 번으로 끝납니다.
+     */
+    public CustomerCouponDto issue(Long customerId, Long couponId) {
+        CouponMeta meta = cachedMeta(couponId);
+        if (meta == null) {
+            meta = loadMeta(couponId);
+        }
+
+        if (meta.getStatus() != CouponStatus.ACTIVE) {
+            throw new BusinessException(ErrorCode.COUPON_NOT_ACTIVE);
+        }
+        if (meta.getIssueStartTime() != null && meta.getIssueStartTime().isAfter(LocalDateTime.now().plusHours(9))) {
+            throw new BusinessException(ErrorCode.COUPON_NOT_YET_AVAILABLE);
+        }
+
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = meta.getExpiryType() == ExpiryType.ABSOLUTE
+                ? meta.getExpiryDate()
+                : issuedAt.plusDays(meta.getExpiryDays());
+        IssuedTicket ticket = new IssuedTicket(UUID.randomUUID().toString(), couponId, customerId, issuedAt, expiresAt);
+
+        long result = claim(ticket);
+        if (result == NOT_INITIALIZED) {
+            initialize(couponId);
+            result = claim(ticket);
+        }
+
+        if (result == PAUSED) {
+            throw new BusinessException(ErrorCode.COUPON_ISSUE_PAUSED);
+        }
+        if (result == DUPLICATE) {
+            throw new BusinessException(ErrorCode.COUPON_DUPLICATE);
+        }
+        if (result == EXHAUSTED) {
+            throw new BusinessException(ErrorCode.COUPON_EXHAUSTED);
+        }
+        if (result == SOLD_OUT) {
+            soldOutStores.add(meta.getStoreId());
+            availableCouponCache.evictStore(meta.getStoreId());
+        }
+
+        // 실제 저장은 비동기로 이루어지므로 응답은 캐시된 쿠폰 정보로 구성
+        return meta.toDto(ticket.getCouponUuid(), issuedAt, expiresAt);
+    }
+
+    private CouponMeta cachedMeta(Long couponId) {
+        String cached = redisTemplate.opsForValue().get(META_KEY_PREFIX + couponId);
+        if (cached == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(cached, CouponMeta.class);
+        } catch (JsonProcessingException e) {
+            log.warn("쿠폰 정보 캐시 변환 실패, DB에서 다시 읽음 - couponId: {}, {}", couponId, e.getMessage());
+            return null;
+        }
+    }
+
+    // 캐시에 없을 때만 DB 조회 (그 사이 invalidate 되었으면 저장하지 않고 이번 요청에만 사용)
+    private CouponMeta loadMeta(Long couponId) {
+        String versionKey = META_VERSION_KEY_PREFIX + couponId;
+        String version = redisTemplate.opsForValue().get(versionKey);
+        Coupon coupon = couponRepository.findWithDetailsById(couponId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
+        CouponMeta meta = CouponMeta.from(coupon);
+        try {
+            redisTemplate.execute(META_FILL_SCRIPT, List.of(META_KEY_PREFIX + couponId, versionKey),
+                    version != null ? version : "", objectMapper.writeValueAsString(meta), String.valueOf(metaTtlSeconds));
+        } catch (JsonProcessingException e) {
+            log.warn("쿠폰 정보 캐시 저장 실패 - couponId: {}, {}", couponId, e.getMessage());
+        }
+        return meta;
+    }
+
+    // 대기열의 당첨 건을 batch-size 단위로 처리 목록에 옮겨 저장하고, 커밋 후 처리 목록을 비움
+    @Scheduled(fixedDelayString = "${coupon.issue.flush-ms:200}")
+    public synchronized void persistIssued() {
+        String processingKey = processingKey(nodeId);
+        while (true) {
+            // 지난번에 끝내지 못한 처리 목록이 있으면 그것부터
+            List<String> items = redisTemplate.opsForList().range(processingKey, 0, -1);
+            if (items == null || items.isEmpty()) {
+                items = moveBatch(processingKey);
+            }
+            if (items.isEmpty()) {
+                evictSoldOutStores();
+                return;
+            }
+
+            List<String> batch = items;
+            try {
+                requiresNew.executeWithoutResult(status -> persist(batch));
+                redisTemplate.delete(processingKey);
+            } catch (Exception e) {
+                log.warn("쿠폰 발급 내역 배치 저장 실패, 한 건씩 다시 저장 - {}건, {}", items.size(), e.getMessage());
+                if (!persistOneByOne(processingKey, items)) {
+                    return; // 다음 주기에 처리 목록부터 다시 시도
+                }
+            }
+        }
+    }
+
+    // 배치가 실패하면 한 건씩 저장해서 저장할 수 없는 항목만 따로 보관 (DB 장애 등은 그대로 두고 중단)
+    private boolean persistOneByOne(String processingKey, List<String> items) {
+        for (String item : items) {
+            try {
+                requiresNew.executeWithoutResult(status -> persist(List.of(item)));
+            } catch (DataIntegrityViolationException e) {
+                deadLetter(item, e);
+            } catch (DataAccessException | TransactionException e) {
+                log.error("쿠폰 발급 내역 저장 실패 - 다음 주기에 다시 시도", e);
+                return false;
+            } catch (RuntimeException e) {
+                deadLetter(item, e); // 항목 형식 오류
+            }
+            redisTemplate.opsForList().remove(processingKey, 1, item);
+        }
+        return true;
+    }
+
+    private void deadLetter(String item, Exception e) {
+        redisTemplate.opsForList().rightPush(DEAD_KEY, item);
+        log.error("쿠폰 발급 내역을 저장할 수 없어 {} 에 보관 - {}, {}", DEAD_KEY, item, e.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> moveBatch(String processingKey) {
+        List<String> items = redisTemplate.execute(MOVE_SCRIPT,
+                List.of(QUEUE_KEY, processingKey, PROCESSING_SET_KEY, NODE_KEY_PREFIX + nodeId),
+                String.valueOf(batchSize), String.valueOf(recoverMs * 3));
+        return items != null ? items : List.of();
+    }
+
+    // 생존 표시가 끊긴 노드의 처리 목록을 대기열 앞으로 되돌림
+    @Scheduled(fixedDelayString = "${coupon.issue.recover-ms:10000}")
+    public void recoverOrphans() {
+        redisTemplate.opsForValue().set(NODE_KEY_PREFIX + nodeId, "1", Duration.ofMillis(recoverMs * 3));
+
+        Set<String> processingKeys = redisTemplate.opsForSet().members(PROCESSING_SET_KEY);
+        if (processingKeys == null) {
+            return;
+        }
+        for (String key : processingKeys) {
+            String owner = key.substring(PROCESSING_KEY_PREFIX.length());
+            if (owner.equals(nodeId)) {
+                continue;
+            }
+            Long recovered = redisTemplate.execute(RECOVER_SCRIPT,
+                    List.of(key, QUEUE_KEY, PROCESSING_SET_KEY, NODE_KEY_PREFIX + owner));
+            if (recovered != null && recovered > 0) {
+                log.warn("응답 없는 노드의 쿠폰 발급 처리 목록을 대기열로 되돌림 - node: {}, {}건", owner, recovered);
+            }
+        }
+    }
+
+    private void evictSoldOutStores() {
+        for (Long storeId : soldOutStores) {
+            soldOutStores.remove(storeId);
+            availableCouponCache.evictStore(storeId);
+        }
+    }
+
+    /**
+     * 저장 대기 중인 건이 없을 때 Redis 재고 기준으로 발급 수량 보정
+     * DB 값을 먼저 읽고, 대기 건 확인과 재고 조회는 Redis 에서 한 번에 한 뒤,
+     * 읽은 값이 그대로일 때만 고칩니다. (그 사이 다른 노드가 저장을 커밋했으면 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.reconcile-ms:60000}")
+    public synchronized void reconcile() {
+        Set<String> couponIds = redisTemplate.opsForSet().members(ACTIVE_KEY);
+        if (couponIds == null) {
+            return;
+        }
+        for (String id : couponIds) {
+            Long couponId = Long.valueOf(id);
+            Coupon coupon = couponRepository.findById(couponId).orElse(null);
+            if (coupon == null) {
+                redisTemplate.opsForSet().remove(ACTIVE_KEY, id);
+                continue;
+            }
+
+            Long stock = redisTemplate.execute(STOCK_IF_IDLE_SCRIPT,
+                    List.of(QUEUE_KEY, PROCESSING_SET_KEY, STOCK_KEY_PREFIX + couponId));
+            if (stock == null || stock == -1) {
+                return; // 저장 대기 중인 건이 있음
+            }
+            if (stock == -2) {
+                redisTemplate.opsForSet().remove(ACTIVE_KEY, id);
+                continue;
+            }
+
+            int observed = coupon.getIssuedQuantity();
+            int expected = coupon.getTotalQuantity() - stock.intValue();
+            if (observed != expected) {
+                int updated = jdbcTemplate.update("UPDATE coupon SET issued_quantity = ? WHERE id = ? AND issued_quantity = ?",
+                        expected, couponId, observed);
+                if (updated > 0) {
+                    log.warn("쿠폰 발급 수량 보정 - couponId: {}, DB: {}, Redis 기준: {}", couponId, observed, expected);
+                }
+            }
+        }
+    }
+
+    /**
+     * 쿠폰 정보가 바뀌면 Redis 상태를 지우고 다음 발급 때 DB에서 다시 만듦
+     * 트랜잭션 안에서 호출되면 커밋 후에 지웁니다. (저장 대기 건은 다시 만들 때 함께 반영)
+     */
+    public void invalidate(Long couponId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(couponId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(couponId);
+            }
+        });
+    }
+
+    /**
+     * 일괄 발급 동안 선착순 발급을 막음 (pause-ttl-seconds 동안, 일괄 발급 중에는 chunk마다 다시 호출)
+     * Redis 상태를 지우고, 이미 당첨된 해당 쿠폰의 발급 건이 모두 DB에 저장될 때까지 기다립니다.
+     * 그래서 일괄 발급은 DB의 발급 수량과 발급받은 고객만 보고 진행할 수 있습니다.
+     */
+    public void pause(Long couponId) {
+        redisTemplate.opsForValue().set(PAUSED_KEY_PREFIX + couponId, "1", Duration.ofSeconds(pauseTtlSeconds));
+        evict(couponId);
+
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        while (hasPending(couponId)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("저장 대기 중인 선착순 발급 건이 남아 있습니다. couponId: " + couponId);
+            }
+            persistIssued();
+            try {
+                Thread.sleep(100); // 다른 노드의 처리 목록이 커밋되기를 기다림
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("선착순 발급 중지 대기 중 중단되었습니다.", e);
+            }
+        }
+    }
+
+    // 일괄 발급이 끝나면 다시 허용 (다음 발급 때 DB 기준으로 Redis 상태를 새로 만듦)
+    public void resume(Long couponId) {
+        evict(couponId);
+        redisTemplate.delete(PAUSED_KEY_PREFIX + couponId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean hasPending(Long couponId) {
+        List<String> pending = redisTemplate.execute(PENDING_SCRIPT,
+                List.of(QUEUE_KEY, PROCESSING_SET_KEY), couponId.toString());
+        return pending != null && !pending.isEmpty();
+    }
+
+    /**
+     * 삭제된 쿠폰의 Redis 상태와 대기열에 남은 발급 건을 버림 (삭제가 커밋된 뒤 호출)
+     * 이미 처리 목록으로 옮겨진 건은 저장할 때 쿠폰이 없으므로 버려집니다.
+     */
+    public void discard(Collection<Long> couponIds) {
+        if (couponIds.isEmpty()) {
+            return;
+        }
+        Long removed = redisTemplate.execute(DISCARD_SCRIPT, List.of(QUEUE_KEY),
+                couponIds.stream().map(String::valueOf).toArray());
+        couponIds.forEach(this::evict);
+        if (removed != null && removed > 0) {
+            log.info("삭제된 쿠폰의 저장 대기 발급 건 제거 - 쿠폰: {}개, {}건", couponIds.size(), removed);
+        }
+    }
+
+    // 버전은 진행 중인 쿠폰 정보 조회보다 오래 남도록 캐시 ttl 보다 넉넉히 유지
+    private void evict(Long couponId) {
+        redisTemplate.execute(EVICT_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + couponId, ISSUED_KEY_PREFIX + couponId, META_KEY_PREFIX + couponId,
+                        META_VERSION_KEY_PREFIX + couponId, ACTIVE_KEY),
+                couponId.toString(), String.valueOf(Math.max(metaTtlSeconds * 10, 3600)));
+    }
+
+    // 남은 수량 키 (대기열에서 품절 여부를 DB 없이 확인할 때 사용)
+    public static String stockKey(Long couponId) {
+        return STOCK_KEY_PREFIX + couponId;
+    }
+
+    private long claim(IssuedTicket ticket) {
+        Long couponId = ticket.getCouponId();
+        Long result = redisTemplate.execute(CLAIM_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + couponId, ISSUED_KEY_PREFIX + couponId, QUEUE_KEY, PAUSED_KEY_PREFIX + couponId),
+                ticket.getCustomerId().toString(), ticket.serialize());
+        return result != null ? result : NOT_INITIALIZED;
+    }
+
+    // 저장 대기 건을 먼저 읽고 DB를 읽음 (그 사이 저장이 커밋되면 두 번 세어져 적게 발급될 뿐 초과 발급은 없음)
+    @SuppressWarnings("unchecked")
+    private void initialize(Long couponId) {
+        List<String> pending = redisTemplate.execute(PENDING_SCRIPT,
+                List.of(QUEUE_KEY, PROCESSING_SET_KEY), couponId.toString());
+        Map<String, Object> current;
+        try {
+            current = jdbcTemplate.queryForMap(
+                    "SELECT total_quantity, issued_quantity FROM coupon WHERE id = ?", couponId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new BusinessException(ErrorCode.COUPON_NOT_FOUND);
+        }
+        int remaining = ((Number) current.get("total_quantity")).intValue()
+                - ((Number) current.get("issued_quantity")).intValue()
+                - (pending != null ? pending.size() : 0);
+
+        List<String> args = new ArrayList<>();
+        args.add(couponId.toString());
+        args.add(String.valueOf(Math.max(0, remaining)));
+        customerCouponRepository.findCustomerIdsByCouponId(couponId)
+                .forEach(customerId -> args.add(customerId.toString()));
+        if (pending != null) {
+            args.addAll(pending);
+        }
+
+        redisTemplate.execute(INIT_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + couponId, ISSUED_KEY_PREFIX + couponId, ACTIVE_KEY,
+                        PAUSED_KEY_PREFIX + couponId),
+                args.toArray());
+        log.info("쿠폰 발급 Redis 상태 초기화 - couponId: {}, 남은 수량: {}", couponId, args.get(1));
+    }
+
+    // 삭제된 쿠폰의 건은 버리고, 이미 저장된 건(다른 노드에서 되돌린 처리 목록)은 건너뜀
+    private void persist(List<String> items) {
+        List<IssuedTicket> tickets = items.stream().map(IssuedTicket::parse).toList();
+
+        // 쿠폰 행을 잠가서 저장 중에 쿠폰이 삭제되지 않게 함
+        Object[] couponIds = tickets.stream().map(IssuedTicket::getCouponId).distinct().sorted().toArray();
+        Set<Long> existingCoupons = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM coupon WHERE id IN (" + placeholders(couponIds.length) + ") ORDER BY id FOR UPDATE",
+                Long.class, couponIds));
+        Object[] uuids = tickets.stream().map(IssuedTicket::getCouponUuid).toArray();
+        Set<String> saved = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT coupon_uuid FROM customer_coupon WHERE coupon_uuid IN (" + placeholders(uuids.length) + ")",
+                String.class, uuids));
+
+        List<Object[]> rows = new ArrayList<>(items.size());
+        Map<Long, Integer> issuedByCoupon = new HashMap<>();
+        for (IssuedTicket ticket : tickets) {
+            if (!existingCoupons.contains(ticket.getCouponId())) {
+                log.warn("삭제된 쿠폰의 발급 건은 저장하지 않음 - couponId: {}, customerId: {}", ticket.getCouponId(), ticket.getCustomerId());
+                continue;
+            }
+            if (saved.contains(ticket.getCouponUuid())) {
+                continue;
+            }
+            rows.add(new Object[]{ticket.getCouponUuid(), ticket.getCouponId(), ticket.getCustomerId(),
+                    CouponStatus.UNUSED.name(), Timestamp.valueOf(ticket.getIssuedAt()), Timestamp.valueOf(ticket.getExpiresAt())});
+            issuedByCoupon.merge(ticket.getCouponId(), 1, Integer::sum);
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO customer_coupon "
+                    + "(coupon_uuid, coupon_id, customer_id, coupon_status, issued_at, expires_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+            issuedByCoupon.forEach(couponRepository::increaseIssuedQuantity);
+        }
+
+        log.debug("쿠폰 발급 내역 저장 - {}건 (요청 {}건)", rows.size(), items.size());
+    }
+
+    private static String processingKey(String nodeId) {
+        return PROCESSING_KEY_PREFIX + nodeId;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    // 대기열 항목: uuid|couponId|customerId|issuedAt|expiresAt
+    @Getter
+    @AllArgsConstructor
+    private static class IssuedTicket {
+        private final String couponUuid;
+        private final Long couponId;
+        private final Long customerId;
+        private final LocalDateTime issuedAt;
+        private final LocalDateTime expiresAt;
+
+        private String serialize() {
+            return String.join("|", couponUuid, couponId.toString(), customerId.toString(),
+                    issuedAt.toString(), expiresAt.toString());
+        }
+
+        private static IssuedTicket parse(String value) {
+            String[] parts = value.split("\\|");
+            return new IssuedTicket(parts[0], Long.valueOf(parts[1]), Long.valueOf(parts[2]),
+                    LocalDateTime.parse(parts[3]), LocalDateTime.parse(parts[4]));
+        }
+    }
+
+    // 발급 조건과 응답에 필요한 쿠폰 정보 (coupon:meta:{id} 에 JSON 으로 보관)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class CouponMeta {
+        private Long couponId;
+        private CouponStatus status;
+        private LocalDateTime issueStartTime;
+        private ExpiryType expiryType;
+        private LocalDateTime expiryDate;
+        private Integer expiryDays;
+        private Long storeId;
+        private String storeName;
+        private String couponName;
+        private DiscountType discountType;
+        private int discountValue;
+        private Integer minimumOrderAmount;
+        private Integer discountLimit;
+        private List<String> applicableCategories;
+
+        private static CouponMeta from(Coupon coupon) {
+            return new CouponMeta(coupon.getId(), coupon.getStatus(), coupon.getIssueStartTime(),
+                    coupon.getExpiryType(), coupon.getExpiryDate(), coupon.getExpiryDays(),
+                    coupon.getStore().getId(), coupon.getStore().getStoreName(), coupon.getCouponName(),
+                    coupon.getDiscountType(), coupon.getDiscountValue(), coupon.getMinimumOrderAmount(),
+                    coupon.getDiscountLimit(),
+                    coupon.getApplicableCategories() != null ? new ArrayList<>(coupon.getApplicableCategories()) : List.of());
+        }
+
+        private CustomerCouponDto toDto(String couponUuid, LocalDateTime issuedAt, LocalDateTime expiresAt) {
+            return CustomerCouponDto.builder()
+                    .id(couponUuid)
+                    .couponId(couponId)
+                    .couponName(couponName)
+                    .discountType(discountType)
+                    .discountValue(discountValue)
+                    .minimumOrderAmount(minimumOrderAmount)
+                    .discountLimit(discountLimit)
+                    .applicableCategories(applicableCategories)
+                    .issuedAt(issuedAt)
+                    .expiresAt(expiresAt)
+                    .isUsed(false)
+                    .storeName(storeName)
+                    .build();
+        }
+    }
+}
@@ -25,6 +25,9 @@ import java.util.List;
 public class CouponService {
     private final CouponRepository couponRepository;
     private final StoreRepository storeRepository;
+    private final CouponIssueEngine couponIssueEngine;
+    private final AvailableCouponCache availableCouponCache;
+    private final CouponAvailabilityTimer couponAvailabilityTimer;
 
     @Transactional
     public CouponDto createCoupon(CouponCreateRequestDto requestDto, Long storeId) {
@@ -59,6 +62,8 @@ public class CouponService {
                 .build();
         log.info("쿠폰 저장 직전 생성 시간" + coupon.getIssueStartTime());
         Coupon savedCoupon = couponRepository.save(coupon);
+        availableCouponCache.evictStore(storeId);
+        couponAvailabilityTimer.schedule(savedCoupon);
 
         // 실제 시간값 확인
         log.info("DB 저장된 쿠폰 ID: {}", savedCoupon.getId());
@@ -98,6 +103,9 @@ public class CouponService {
 
     @Transactional
     public CouponDto updateCoupon(Long couponId, Long storeId, CouponCreateRequestDto requestDto) { // 쿠폰 수정 시 사용할 DTO는 필요에 따라 CouponUpdateRequestDto 등으로 분리 가능
+        couponIssueEngine.invalidate(couponId); // 선착순 발급 Redis 상태 초기화
+        availableCouponCache.evictStore(storeId);
+
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.STORE_NOT_FOUND));
 
@@ -123,11 +131,15 @@ public class CouponService {
         );
 
         Coupon updatedCoupon = couponRepository.save(coupon);
+        couponAvailabilityTimer.schedule(updatedCoupon);
         return CouponDto.fromEntity(updatedCoupon);
     }
 
     @Transactional
     public CouponDto updateCouponStatus(Long couponId, Long storeId, CouponStatus status) {
+        couponIssueEngine.invalidate(couponId); // 선착순 발급 Redis 상태 초기화
+        availableCouponCache.evictStore(storeId);
+
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.STORE_NOT_FOUND));
 
@@ -135,7 +147,7 @@ public class CouponService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.PERMISSION_DENIED));
 
         coupon.changeStatus(status);
-
+        couponAvailabilityTimer.schedule(coupon);
 
         return CouponDto.fromEntity(coupon);
     }
@@ -149,6 +161,9 @@ public class CouponService {
      */
     @Transactional
     public boolean deleteCoupon(Long couponId, Long storeId) {
+        couponIssueEngine.invalidate(couponId); // 선착순 발급 Redis 상태 초기화
+        availableCouponCache.evictStore(storeId);
+
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.STORE_NOT_FOUND));
 
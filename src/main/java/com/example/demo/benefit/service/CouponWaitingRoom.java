@@ -0,0 +1,94 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.dto.CouponQueueStatusDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 선착순 쿠폰 대기열
+ *
+ * 쿠폰별로 동시에 발급 처리 중인 요청을 max-in-flight 개로 제한하고, 나머지는 도착 순서대로 번호표를 받아 기다립니다.
+ * - coupon:wait:{id}:queue    대기 중인 고객 (score = 번호표)
+ * - coupon:wait:{id}:inflight 입장한 고객 (score = 입장 시각, inflight-timeout-ms 가 지나면 자리 반납)
+ * - coupon:wait:{id}:seen     대기 고객의 마지막 조회 시각 (poll-timeout-ms 동안 조회가 없으면 대기열에서 제외)
+ * 재고가 이미 0이면 DB를 거치지 않고 바로 품절로 응답합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponWaitingRoom {
+
+    // KEYS: queue, inflight, seen, seq, stock
+    // ARGV: customerId, now, maxInFlight, inflightTimeoutMs, pollTimeoutMs, keyTtlSeconds
+    // 반환: {상태(1 입장, 0 대기, -1 품절), 대기 순번}
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> ENTER_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[2]) "
+                    + "local stock = redis.call('GET', KEYS[5]) "
+                    + "if stock and tonumber(stock) <= 0 then "
+                    + "  redis.call('ZREM', KEYS[1], ARGV[1]) redis.call('ZREM', KEYS[3], ARGV[1]) "
+                    + "  return {-1, 0} "
+                    + "end "
+                    + "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now - tonumber(ARGV[4])) "
+                    + "local stale = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', now - tonumber(ARGV[5])) "
+                    + "for _, m in ipairs(stale) do redis.call('ZREM', KEYS[1], m) redis.call('ZREM', KEYS[3], m) end "
+                    + "if redis.call('ZSCORE', KEYS[2], ARGV[1]) then return {1, 0} end "
+                    + "if not redis.call('ZSCORE', KEYS[1], ARGV[1]) then "
+                    + "  redis.call('ZADD', KEYS[1], redis.call('INCR', KEYS[4]), ARGV[1]) "
+                    + "end "
+                    + "redis.call('ZADD', KEYS[3], now, ARGV[1]) "
+                    + "for i = 1, 4 do redis.call('EXPIRE', KEYS[i], tonumber(ARGV[6])) end "
+                    + "local rank = redis.call('ZRANK', KEYS[1], ARGV[1]) "
+                    + "local free = tonumber(ARGV[3]) - redis.call('ZCARD', KEYS[2]) "
+                    + "if rank < free then "
+                    + "  redis.call('ZREM', KEYS[1], ARGV[1]) redis.call('ZREM', KEYS[3], ARGV[1]) "
+                    + "  redis.call('ZADD', KEYS[2], now, ARGV[1]) "
+                    + "  return {1, 0} "
+                    + "end "
+                    + "return {0, rank - free + 1}",
+            List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${coupon.waiting-room.max-in-flight:50}")
+    private int maxInFlight;
+
+    @Value("${coupon.waiting-room.inflight-timeout-ms:10000}")
+    private long inflightTimeoutMs;
+
+    @Value("${coupon.waiting-room.poll-timeout-ms:15000}")
+    private long pollTimeoutMs;
+
+    @Value("${coupon.waiting-room.key-ttl-seconds:3600}")
+    private long keyTtlSeconds;
+
+    // 대기열 입장 또는 순번 조회 (이미 대기 중이면 기존 번호표 유지)
+    @SuppressWarnings("unchecked")
+    public CouponQueueStatusDto enter(Long customerId, Long couponId) {
+        String prefix = "coupon:wait:" + couponId + ":";
+        List<Long> result = redisTemplate.execute(ENTER_SCRIPT,
+                List.of(prefix + "queue", prefix + "inflight", prefix + "seen", prefix + "seq",
+                        CouponIssueEngine.stockKey(couponId)),
+                customerId.toString(),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(maxInFlight),
+                String.valueOf(inflightTimeoutMs),
+                String.valueOf(pollTimeoutMs),
+                String.valueOf(keyTtlSeconds));
+
+        long state = result.get(0);
+        return new CouponQueueStatusDto(couponId, state == 1, result.get(1), state == -1);
+    }
+
+    // 발급 처리가 끝나면 자리 반납
+    public void leave(Long customerId, Long couponId) {
+        redisTemplate.opsForZSet().remove("coupon:wait:" + couponId + ":inflight", customerId.toString());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.benefit.service;
 
 import com.example.demo.benefit.dto.CouponDto;
 import com.example.demo.benefit.dto.CustomerCouponDto;
+import com.example.demo.benefit.dto.CustomerCouponPageDto;
 import com.example.demo.benefit.entity.Coupon;
 import com.example.demo.benefit.entity.CouponStatus;
 import com.example.demo.benefit.entity.ExpiryType;
@@ -9,14 +10,16 @@ import com.example.demo.customer.entity.Customer;
 import com.example.demo.customer.entity.CustomerCoupon;
 import com.example.demo.setting.exception.BusinessException;
 import com.example.demo.setting.exception.ErrorCode;
-import com.example.demo.store.entity.Store;
 import com.example.demo.customer.repository.CustomerRepository;
 import com.example.demo.store.repository.StoreRepository;
 import com.example.demo.benefit.repository.CouponRepository;
 import com.example.demo.benefit.repository.CustomerCouponRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,20 +30,35 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CustomerCouponService {
 
+    private static final int MAX_WALLET_PAGE_SIZE = 100;
+
     private final CouponRepository couponRepository;
     private final CustomerRepository customerRepository;
     private final CustomerCouponRepository customerCouponRepository;
     private final StoreRepository storeRepository;
+    private final CouponIssueEngine couponIssueEngine;
+    private final AvailableCouponCache availableCouponCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // true면 Redis에서 원자적으로 발급하고 DB 저장은 비동기 배치로 처리 (쿠폰 행 잠금 없음)
+    @Value("${coupon.issue.redis-enabled:true}")
+    private boolean redisIssueEnabled;
+
+    // customer 는 인증된 고객(JWT principal) - Redis 발급은 트랜잭션/DB 조회 없이 처리
+    public CustomerCouponDto issueCoupon(Customer customer, Long couponId) {
+        if (redisIssueEnabled) {
+            return couponIssueEngine.issue(customer.getId(), couponId);
+        }
 
-    @Transactional
-    public CustomerCouponDto issueCoupon(Long customerId, Long couponId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND));
+        return transactionTemplate.execute(status -> {
+            Customer managed = customerRepository.findById(customer.getId())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND));
 
-        Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
+            Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
 
-        return issueCouponInternal(customer, coupon);
+            return issueCouponInternal(managed, coupon);
+        });
     }
 
     private CustomerCouponDto issueCouponInternal(Customer customer, Coupon coupon) {
@@ -63,6 +81,9 @@ public class CustomerCouponService {
                 });
 
         coupon.issue();
+        if (coupon.getIssuedQuantity() >= coupon.getTotalQuantity()) {
+            availableCouponCache.evictStore(coupon.getStore().getId()); // 재고 소진
+        }
 
         LocalDateTime expiresAt;
         if (coupon.getExpiryType() == ExpiryType.ABSOLUTE) {
@@ -86,20 +107,14 @@ public class CustomerCouponService {
 
     @Transactional(readOnly = true)
     public List<CouponDto> getAvailableCoupons(Long storeId) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.STORE_NOT_FOUND));
-        List<Coupon> availableCoupons = couponRepository.findAvailableCouponsByStore(store);
-        return availableCoupons.stream()
-                .map(CouponDto::fromEntity)
-                .collect(Collectors.toList());
+        if (!storeRepository.existsById(storeId)) {
+            throw new BusinessException(ErrorCode.STORE_NOT_FOUND);
+        }
+        return availableCouponCache.getByStore(storeId);
     }
 
-    @Transactional(readOnly = true)
     public List<CouponDto> getAllAvailableCoupons() {
-        List<Coupon> availableCoupons = couponRepository.findAllAvailableCoupons(LocalDateTime.now().plusHours(9));
-        return availableCoupons.stream()
-                .map(CouponDto::fromEntity)
-                .collect(Collectors.toList());
+        return availableCouponCache.getAll();
     }
 
     @Transactional(readOnly = true)
@@ -107,20 +122,47 @@ public class CustomerCouponService {
         if (!customerRepository.existsById(customerId)) {
             throw new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND);
         }
-        List<CustomerCoupon> myCoupons = customerCouponRepository.findByCustomerId(customerId);
-        return myCoupons.stream()
-                .filter(customerCoupon -> customerCoupon.getCoupon().getStatus() == CouponStatus.ACTIVE)
-                // ✅ 만료된 CustomerCoupon 필터링 추가
-                .filter(customerCoupon -> customerCoupon.getExpiresAt().isAfter(LocalDateTime.now()))
-                // ✅ 부모 쿠폰의 절대 만료 시간 검증 추가
-                .filter(customerCoupon -> {
-                    LocalDateTime couponExpiryDate = customerCoupon.getCoupon().getExpiryDate();
-                    return couponExpiryDate == null || couponExpiryDate.isAfter(LocalDateTime.now());
-                })
+        // 부모 쿠폰 상태, 고객 쿠폰/부모 쿠폰 만료 여부는 쿼리에서 거름
+        return customerCouponRepository.findWalletCoupons(customerId, LocalDateTime.now()).stream()
                 .map(CustomerCouponDto::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 쿠폰 지갑 페이지 조회 (최근 발급순)
+     * 첫 페이지는 cursor 없이, 다음 페이지는 직전 응답의 nextCursorIssuedAt/nextCursorId 로 요청합니다.
+     */
+    @Transactional(readOnly = true)
+    public CustomerCouponPageDto getMyCouponPage(Long customerId, LocalDateTime cursorIssuedAt, String cursorId, int size) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new BusinessException(ErrorCode.CUSTOMER_NOT_FOUND);
+        }
+        if (size <= 0 || size > MAX_WALLET_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_WALLET_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        if ((cursorIssuedAt == null) != (cursorId == null)) {
+            throw new IllegalArgumentException("cursorIssuedAt과 cursorId는 함께 전달해야 합니다.");
+        }
+
+        // 다음 페이지 존재 여부 확인용으로 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, size + 1);
+        LocalDateTime now = LocalDateTime.now();
+        List<CustomerCoupon> rows = cursorIssuedAt == null
+                ? customerCouponRepository.findWalletFirstPage(customerId, now, limit)
+                : customerCouponRepository.findWalletPageAfter(customerId, now, cursorIssuedAt, cursorId, limit);
+
+        boolean hasNext = rows.size() > size;
+        List<CustomerCoupon> page = hasNext ? rows.subList(0, size) : rows;
+        CustomerCoupon last = hasNext ? page.get(page.size() - 1) : null;
+
+        return CustomerCouponPageDto.builder()
+                .coupons(page.stream().map(CustomerCouponDto::fromEntity).collect(Collectors.toList()))
+                .nextCursorIssuedAt(last != null ? last.getIssuedAt() : null)
+                .nextCursorId(last != null ? last.getCouponUuid() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<CustomerCouponDto> getMyUsableCouponsInStore(Long customerId, Long storeId) {
         if (!customerRepository.existsById(customerId)) {
@@ -130,19 +172,9 @@ public class CustomerCouponService {
             throw new BusinessException(ErrorCode.STORE_NOT_FOUND);
         }
 
-        List<CustomerCoupon> myCoupons = customerCouponRepository.findByCustomerId(customerId);
-
-        return myCoupons.stream()
-                .filter(cc -> cc.getCoupon().getStore().getId().equals(storeId))
-                .filter(cc -> cc.getCoupon().getStatus() == CouponStatus.ACTIVE)
-                .filter(cc -> cc.getCouponStatus() == CouponStatus.UNUSED)
-                .filter(cc -> cc.getExpiresAt().isAfter(LocalDateTime.now()))
-                // ✅ 부모 쿠폰의 절대 만료 시간 검증 추가
-                .filter(cc -> {
-                    LocalDateTime couponExpiryDate = cc.getCoupon().getExpiryDate();
-                    return couponExpiryDate == null || couponExpiryDate.isAfter(LocalDateTime.now());
-                })
+        // 매장, 사용 여부, 만료 여부까지 쿼리에서 걸러 해당 매장 쿠폰만 읽음
+        return customerCouponRepository.findUsableInStore(customerId, storeId, LocalDateTime.now()).stream()
                 .map(CustomerCouponDto::fromEntity)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
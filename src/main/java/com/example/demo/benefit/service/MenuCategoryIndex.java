@@ -0,0 +1,93 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.customer.entity.OrderLineType;
+import com.example.demo.order.dto.OrderDTO;
+import com.example.demo.store.entity.StoreMenu;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매장 메뉴 카테고리 번호표
+ *
+ * 매장의 카테고리마다 0부터 번호를 매기고, 쿠폰 적용 카테고리는 이 번호의 비트마스크(long[])로,
+ * 장바구니는 카테고리 번호별 금액 합계(long[])로 바꿔서 문자열 비교 없이 계산하도록 합니다.
+ */
+public class MenuCategoryIndex {
+
+    private static final int NO_CATEGORY = -1;
+
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final Map<String, Integer> menuCategoryIds = new HashMap<>();
+    private final Map<String, Integer> menuPrices = new HashMap<>();
+
+    public MenuCategoryIndex(List<StoreMenu> menus) {
+        for (StoreMenu menu : menus) {
+            int categoryId = NO_CATEGORY;
+            if (menu.getCategory() != null) {
+                categoryId = categoryIds.computeIfAbsent(menu.getCategory(), c -> categoryIds.size());
+            }
+            menuCategoryIds.putIfAbsent(menu.getMenuName(), categoryId);
+            if (menu.getPrice() != null) {
+                menuPrices.putIfAbsent(menu.getMenuName(), menu.getPrice());
+            }
+        }
+    }
+
+    public int categoryCount() {
+        return categoryIds.size();
+    }
+
+    // 적용 카테고리 목록 -> 비트마스크 (매장에 없는 카테고리는 무시)
+    public long[] maskOf(List<String> categories) {
+        long[] mask = new long[(categoryCount() + 63) / 64];
+        for (String category : categories) {
+            Integer id = categoryIds.get(category);
+            if (id != null) {
+                mask[id >>> 6] |= 1L << (id & 63);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 장바구니를 카테고리별 금액 합계로 변환
+     * 가격은 매장 메뉴 가격 기준이고, 매장에 없는 메뉴와 쿠폰/포인트 항목은 제외합니다.
+     */
+    public Cart summarize(List<OrderDTO> lines) {
+        long[] categoryTotals = new long[categoryCount()];
+        long total = 0;
+        for (OrderDTO line : lines) {
+            if (OrderLineType.of(line.getMenuName()) != OrderLineType.MENU) {
+                continue;
+            }
+            Integer price = menuPrices.get(line.getMenuName());
+            if (price == null) {
+                continue;
+            }
+            long amount = (long) price * line.getMenuAmount();
+            total += amount;
+
+            int categoryId = menuCategoryIds.getOrDefault(line.getMenuName(), NO_CATEGORY);
+            if (categoryId != NO_CATEGORY) {
+                categoryTotals[categoryId] += amount;
+            }
+        }
+        return new Cart(categoryTotals, total);
+    }
+
+    public static class Cart {
+        final long[] categoryTotals;
+        final long total;
+
+        Cart(long[] categoryTotals, long total) {
+            this.categoryTotals = categoryTotals;
+            this.total = total;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
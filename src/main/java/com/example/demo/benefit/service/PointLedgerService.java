@@ -0,0 +1,141 @@
+package com.example.demo.benefit.service;
+
+import com.example.demo.benefit.repository.CustomerPointRepository;
+import com.example.demo.benefit.repository.PointLedgerRepository;
+import com.example.demo.customer.entity.PointLedger;
+import com.example.demo.customer.entity.PointLedgerType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 포인트 적립/사용
+ *
+ * 잔액은 읽고-고치고-저장하지 않고 조건부 UPDATE(pointAmount + delta >= 0) 한 번으로 반영하므로
+ * 같은 고객의 결제가 동시에 승인되어도 변경이 유실되지 않습니다.
+ * 변경할 때마다 원장(PointLedger)에 내역을 남기고, 조회용 잔액 캐시는 커밋 후 비웁니다.
+ *
+ * 캐시를 비울 때 버전도 올리고, 캐시를 채울 때는 DB를 읽기 전에 본 버전이 그대로일 때만 저장합니다.
+ * (커밋 전 잔액을 읽은 조회가 커밋 후 비운 캐시에 이전 잔액을 다시 넣지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointLedgerService {
+
+    private static final String BALANCE_KEY_PREFIX = "point:balance:";
+    private static final String VERSION_KEY_PREFIX = "point:balance:ver:";
+
+    // KEYS[1]=잔액, KEYS[2]=버전 / ARGV[1]=읽기 전 버전(없으면 ""), ARGV[2]=잔액, ARGV[3]=ttl 초
+    private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('GET', KEYS[2]) or '' "
+                    + "if v == ARGV[1] then redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) return 1 end "
+                    + "return 0",
+            Long.class);
+
+    // KEYS[1]=잔액, KEYS[2]=버전 / ARGV[1]=버전 ttl 초
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('INCR', KEYS[2]) "
+                    + "redis.call('EXPIRE', KEYS[2], ARGV[1]) "
+                    + "redis.call('DEL', KEYS[1]) "
+                    + "return v",
+            Long.class);
+
+    private final CustomerPointRepository customerPointRepository;
+    private final PointLedgerRepository pointLedgerRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${point.cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    /**
+     * 결제 승인 시 포인트 사용/적립
+     * 같은 주문으로 두 번 호출되면 원장 유니크 키 위반으로 트랜잭션 전체가 롤백됩니다.
+     */
+    @Transactional
+    public long applyApproval(Long customerId, Long orderGroupId, long pointUsed, long pointEarned) {
+        customerPointRepository.createIfAbsent(customerId);
+
+        long balance = -1;
+        if (pointUsed > 0) {
+            balance = change(customerId, orderGroupId, PointLedgerType.SPEND, pointUsed);
+            log.info("💸 포인트 {} 차감 완료", pointUsed);
+        }
+        if (pointEarned > 0) {
+            balance = change(customerId, orderGroupId, PointLedgerType.EARN, pointEarned);
+            log.info("📈 {} 포인트 적립됨 (총 잔여 포인트: {})", pointEarned, balance);
+        }
+
+        evictAfterCommit(customerId);
+        return balance >= 0 ? balance : currentBalance(customerId);
+    }
+
+    // 캐시된 잔액 (없으면 DB에서 읽어 ttl-seconds 동안 보관, 그 사이 잔액이 바뀌었으면 저장하지 않음)
+    public long getBalance(Long customerId) {
+        String key = BALANCE_KEY_PREFIX + customerId;
+        String cached = redisTemplate.opsForValue().get(key);
+        if (cached != null) {
+            return Long.parseLong(cached);
+        }
+
+        String versionKey = VERSION_KEY_PREFIX + customerId;
+        String version = redisTemplate.opsForValue().get(versionKey);
+        long balance = currentBalance(customerId);
+        redisTemplate.execute(FILL_SCRIPT, List.of(key, versionKey),
+                version != null ? version : "", String.valueOf(balance), String.valueOf(cacheTtlSeconds));
+        return balance;
+    }
+
+    private long change(Long customerId, Long orderGroupId, PointLedgerType type, long amount) {
+        long delta = type == PointLedgerType.SPEND ? -amount : amount;
+        if (customerPointRepository.addBalance(customerId, delta) == 0) {
+            throw new IllegalStateException("포인트가 부족합니다. 보유 포인트: " + currentBalance(customerId));
+        }
+
+        // 행 잠금을 잡고 있으므로 방금 반영한 값 그대로 읽힘
+        long balance = currentBalance(customerId);
+        pointLedgerRepository.save(PointLedger.builder()
+                .customerId(customerId)
+                .orderGroupId(orderGroupId)
+                .entryType(type)
+                .amount(amount)
+                .balanceAfter(balance)
+                .createdAt(LocalDateTime.now())
+                .build());
+        return balance;
+    }
+
+    private long currentBalance(Long customerId) {
+        return customerPointRepository.findBalanceByCustomerId(customerId).orElse(0L);
+    }
+
+    private void evictAfterCommit(Long customerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(customerId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(customerId);
+            }
+        });
+    }
+
+    // 버전은 진행 중인 조회보다 오래 남도록 잔액 ttl 보다 넉넉히 유지
+    private void evict(Long customerId) {
+        redisTemplate.execute(INVALIDATE_SCRIPT,
+                List.of(BALANCE_KEY_PREFIX + customerId, VERSION_KEY_PREFIX + customerId),
+                String.valueOf(Math.max(cacheTtlSeconds * 10, 3600)));
+    }
+}
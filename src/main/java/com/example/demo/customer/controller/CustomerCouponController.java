@@ -1,9 +1,17 @@
 package com.example.demo.customer.controller;
 
+import com.example.demo.benefit.dto.BestCouponDto;
+import com.example.demo.benefit.dto.CouponQueueStatusDto;
+import com.example.demo.benefit.service.BestCouponEvaluator;
+import com.example.demo.benefit.service.CouponWaitingRoom;
 import com.example.demo.benefit.service.CustomerCouponService;
 import com.example.demo.benefit.dto.CouponDto;
 import com.example.demo.benefit.dto.CustomerCouponDto;
+import com.example.demo.benefit.dto.CustomerCouponPageDto;
 import com.example.demo.customer.entity.Customer;
+import com.example.demo.order.dto.OrderDTO;
+import com.example.demo.setting.exception.BusinessException;
+import com.example.demo.setting.exception.ErrorCode;
 import com.example.demo.setting.exception.UnauthorizedException;
 import com.example.demo.setting.util.MemberValidUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,12 +24,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -32,6 +43,11 @@ public class CustomerCouponController {
 
     private final CustomerCouponService customerCouponService;
     private final MemberValidUtil memberValidUtil;
+    private final CouponWaitingRoom couponWaitingRoom;
+    private final BestCouponEvaluator bestCouponEvaluator;
+
+    @Value("${coupon.waiting-room.enabled:true}")
+    private boolean waitingRoomEnabled;
 
     @Operation(summary = "특정 가게의 발급 가능한 쿠폰 목록 조회", description = "고객이 특정 가게에서 발급받을 수 있는 쿠폰 목록을 조회합니다.")
     @ApiResponses(value = {
@@ -130,6 +146,7 @@ public class CustomerCouponController {
     @Operation(summary = "쿠폰 발급받기", description = "고객이 쿠폰을 발급받습니다. 로그인이 필요하며, 고객(Customer) 권한이 있어야 합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "쿠폰 발급 성공", content = @Content(examples = @ExampleObject(value = "쿠폰이 성공적으로 발급되었습니다."))),
+            @ApiResponse(responseCode = "202", description = "대기열 입장 (대기 순번 반환)", content = @Content(schema = @Schema(implementation = CouponQueueStatusDto.class))),
             @ApiResponse(responseCode = "400", description = "잘못된 요청", content = @Content(examples = {
                     @ExampleObject(name = "재고 소진", value = "쿠폰이 모두 소진되었습니다."),
                     @ExampleObject(name = "이미 발급", value = "이미 발급받은 쿠폰입니다."),
@@ -147,10 +164,37 @@ public class CustomerCouponController {
         if (!memberValidUtil.isCustomer(customer)) {
             throw new UnauthorizedException("로그인이 필요합니다.");
         }
-        customerCouponService.issueCoupon(customer.getId(), couponId);
+        if (waitingRoomEnabled) {
+            CouponQueueStatusDto status = couponWaitingRoom.enter(customer.getId(), couponId);
+            if (status.isSoldOut()) {
+                throw new BusinessException(ErrorCode.COUPON_EXHAUSTED);
+            }
+            if (!status.isAdmitted()) {
+                // 대기 순번을 돌려주고, 클라이언트는 대기열 조회 후 입장 가능해지면 다시 요청
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+            }
+        }
+
+        try {
+            customerCouponService.issueCoupon(customer, couponId);
+        } finally {
+            if (waitingRoomEnabled) {
+                couponWaitingRoom.leave(customer.getId(), couponId);
+            }
+        }
         return ResponseEntity.ok("쿠폰이 성공적으로 발급되었습니다.");
     }
 
+    @Operation(summary = "선착순 쿠폰 대기열 조회", description = "쿠폰 발급 대기열에서 내 순번을 조회합니다. admitted가 true가 되면 발급을 다시 요청합니다. 일정 시간 조회하지 않으면 대기열에서 제외됩니다.")
+    @GetMapping("/coupons/{couponId}/queue")
+    public ResponseEntity<CouponQueueStatusDto> getQueueStatus(@Parameter(description = "쿠폰 ID", required = true, example = "1") @PathVariable Long couponId,
+                                                               @Parameter(hidden = true) @AuthenticationPrincipal Customer customer) {
+        if (!memberValidUtil.isCustomer(customer)) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+        return ResponseEntity.ok(couponWaitingRoom.enter(customer.getId(), couponId));
+    }
+
     @Operation(summary = "내가 보유한 쿠폰 목록 조회", description = "고객이 보유한 쿠폰 목록 전체를 조회합니다. 로그인이 필요하며, 고객(Customer) 권한이 있어야 합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "내 쿠폰 목록 조회 성공",
@@ -190,6 +234,29 @@ public class CustomerCouponController {
         return ResponseEntity.ok(customerCouponService.getMyCoupons(customer.getId()));
     }
 
+    @Operation(summary = "내 쿠폰 지갑 페이지 조회", description = "보유 쿠폰을 최근 발급순으로 페이지 단위 조회합니다. 첫 페이지는 cursor 없이 요청하고, 다음 페이지는 직전 응답의 nextCursorIssuedAt/nextCursorId 를 그대로 전달합니다. 로그인이 필요하며, 고객(Customer) 권한이 있어야 합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "지갑 페이지 조회 성공",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CustomerCouponPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 페이지 요청 (size 범위, cursor 누락)"),
+            @ApiResponse(responseCode = "401", description = "인증 실패"),
+            @ApiResponse(responseCode = "403", description = "권한 없음")
+    })
+    @SecurityRequirement(name = "access_token")
+    @GetMapping("/my-coupons/page")
+    public ResponseEntity<CustomerCouponPageDto> getMyCouponPage(
+            @Parameter(description = "직전 페이지의 nextCursorIssuedAt", example = "2025-06-01T10:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorIssuedAt,
+            @Parameter(description = "직전 페이지의 nextCursorId") @RequestParam(required = false) String cursorId,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) @AuthenticationPrincipal Customer customer) {
+        if (!memberValidUtil.isCustomer(customer)) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+        return ResponseEntity.ok(customerCouponService.getMyCouponPage(customer.getId(), cursorIssuedAt, cursorId, size));
+    }
+
     @Operation(summary = "특정 가게에서 사용 가능한 내 쿠폰 목록 조회", description = "고객이 특정 가게에서 사용할 수 있는, 보유 중인 쿠폰 목록을 조회합니다. 로그인이 필요하며, 고객(Customer) 권한이 있어야 합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "사용 가능한 내 쿠폰 목록 조회 성공",
@@ -238,4 +305,24 @@ public class CustomerCouponController {
         return ResponseEntity.ok(coupons);
     }
 
-}
\ No newline at end of file
+    @Operation(summary = "장바구니에 가장 유리한 내 쿠폰 조회", description = "장바구니 메뉴 목록을 받아, 해당 가게에서 사용할 수 있는 내 쿠폰 중 할인 금액이 가장 큰 쿠폰을 계산합니다. 금액은 가게 메뉴 가격 기준이며, 최소 주문 금액/할인 한도/적용 카테고리를 반영합니다. 적용 가능한 쿠폰이 없으면 couponUuid가 null입니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "계산 성공",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BestCouponDto.class))),
+            @ApiResponse(responseCode = "401", description = "인증 실패"),
+            @ApiResponse(responseCode = "404", description = "상점을 찾을 수 없음")
+    })
+    @SecurityRequirement(name = "access_token")
+    @PostMapping("/my-coupons/store/{storeId}/best")
+    public ResponseEntity<BestCouponDto> getBestCouponForCart(
+            @Parameter(description = "주문할 상점의 ID", required = true, example = "1") @PathVariable Long storeId,
+            @RequestBody List<OrderDTO> cart,
+            @Parameter(hidden = true) @AuthenticationPrincipal Customer customer) {
+        if (!memberValidUtil.isCustomer(customer)) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+        return ResponseEntity.ok(bestCouponEvaluator.findBestCoupon(customer.getId(), storeId, cart));
+    }
+
+}
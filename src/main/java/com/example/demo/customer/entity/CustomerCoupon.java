@@ -12,7 +12,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-
+@Table(indexes = {
+        // 지갑 목록 (최근 발급순 키셋 페이지)
+        @Index(name = "idx_customer_coupon_wallet", columnList = "customer_id, issued_at, coupon_uuid"),
+        // 결제 화면의 사용 가능 쿠폰 조회
+        @Index(name = "idx_customer_coupon_usable", columnList = "customer_id, coupon_status, expires_at"),
+        // 쿠폰별 보유 고객 확인 (일괄 발급 제외 대상, Redis 발급 상태 초기화)
+        @Index(name = "idx_customer_coupon_coupon_customer", columnList = "coupon_id, customer_id")
+})
 public class CustomerCoupon {
     @Id
     @Column(unique = true, length = 36)
@@ -9,6 +9,8 @@ import lombok.*;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
+// 고객당 잔액 행 하나 (동시에 처음 적립될 때 행이 중복 생성되지 않도록)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_customer_point_customer", columnNames = "customer_id"))
 public class CustomerPoint {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long pointId;
@@ -9,18 +9,37 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_customer_statistics_store_date_type", columnList = "store_id, date, line_type"),
+        @Index(name = "idx_customer_statistics_menu", columnList = "menu_id"),
+        @Index(name = "idx_customer_statistics_coupon_uuid", columnList = "coupon_uuid"),
+        @Index(name = "idx_customer_statistics_store_customer", columnList = "store_id, customer_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
 public class CustomerStatistics {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY는 insert 배치가 불가능하므로 테이블 기반으로 ID를 미리 할당 (IdGeneratorSeeder 참고)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "customer_statistics_id_gen")
+    @TableGenerator(name = "customer_statistics_id_gen", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "customer_statistics", allocationSize = 50)
     private long id;
 
     private LocalDate date;
 
-    private String orderDetails;
+    private String orderDetails; // 화면 표시용 원본 (메뉴명 또는 쿠폰/포인트 표시 문자열)
+
+    // 항목 종류 (예전 데이터는 OrderLineBackfillRunner가 채움)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private OrderLineType lineType;
+
+    // COUPON 항목의 CustomerCoupon UUID
+    private String couponUuid;
 
     private long orderPrice;
 
@@ -43,7 +62,8 @@ public class CustomerStatistics {
     @JsonBackReference("store-customer-statistics")
     private Store store;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    // MENU 항목의 메뉴 (주문 시점에 연결)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_id")
     @JsonBackReference
     private StoreMenu storeMenu;
@@ -52,4 +72,15 @@ public class CustomerStatistics {
         this.reviewed = true;
     }
 
+    public OrderLineType getLineType() {
+        return lineType != null ? lineType : OrderLineType.of(orderDetails);
+    }
+
+    public String getCouponUuid() {
+        if (couponUuid == null && getLineType() == OrderLineType.COUPON) {
+            return OrderLineType.couponUuidOf(orderDetails);
+        }
+        return couponUuid;
+    }
+
 }
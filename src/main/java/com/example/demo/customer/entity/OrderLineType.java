@@ -0,0 +1,32 @@
+package com.example.demo.customer.entity;
+
+/**
+ * 주문 항목(CustomerStatistics) 종류
+ * 예전 데이터는 orderDetails 문자열("CouponUsed:<uuid>", "UserPointUsedOrNotUsed")로만 구분되어 있어 of()로 판별합니다.
+ */
+public enum OrderLineType {
+    MENU,
+    COUPON,
+    POINT;
+
+    public static final String COUPON_PREFIX = "CouponUsed:";
+    public static final String POINT_MARKER = "UserPointUsedOrNotUsed";
+
+    public static OrderLineType of(String orderDetails) {
+        if (orderDetails == null) {
+            return MENU;
+        }
+        if (POINT_MARKER.equals(orderDetails)) {
+            return POINT;
+        }
+        if (orderDetails.startsWith(COUPON_PREFIX)) {
+            return COUPON;
+        }
+        return MENU;
+    }
+
+    // "CouponUsed:<uuid>" 에서 uuid 추출
+    public static String couponUuidOf(String orderDetails) {
+        return orderDetails.substring(COUPON_PREFIX.length()).trim();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포인트 원장 (추가만 하고 수정/삭제하지 않음)
+ * 잔액은 CustomerPoint 에 원자적 UPDATE 로 반영하고, 이 테이블에는 변경 내역과 변경 후 잔액을 남깁니다.
+ * 같은 주문에 같은 종류의 항목은 한 번만 기록됩니다. (결제 승인 중복 처리 방지)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(
+        indexes = @Index(name = "idx_point_ledger_customer", columnList = "customer_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_point_ledger_order_type", columnNames = {"order_group_id", "entry_type"})
+)
+public class PointLedger {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "order_group_id")
+    private Long orderGroupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 10)
+    private PointLedgerType entryType;
+
+    // 항상 양수 (차감 여부는 entryType 으로 구분)
+    @Column(nullable = false)
+    private long amount;
+
+    @Column(nullable = false)
+    private long balanceAfter;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.example.demo.customer.entity;
+
+// 포인트 원장 항목 종류
+public enum PointLedgerType {
+    EARN,  // 결제 적립
+    SPEND  // 결제 시 사용
+}
@@ -1,10 +1,12 @@
 package com.example.demo.customer.repository;
 
 import com.example.demo.customer.entity.CustomerReviewCollect;
+import com.example.demo.store.dto.StoreCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CustomerReviewCollectRepository extends JpaRepository<CustomerReviewCollect, Long> {
@@ -22,4 +24,9 @@ public interface CustomerReviewCollectRepository extends JpaRepository<CustomerR
     List<CustomerReviewCollect> findByStore_StoreIdOrderByReviewDateDesc(Long storeId);
 
     // - findAllByStoreId: findByStore_StoreIdOrderByReviewDateDesc로 대체됨
+
+    // 여러 매장의 리뷰 수 (쿼리 한 번)
+    @Query("SELECT r.store.storeId AS storeId, COUNT(r) AS count FROM CustomerReviewCollect r " +
+           "WHERE r.store.storeId IN :storeIds GROUP BY r.store.storeId")
+    List<StoreCount> countByStoreIds(@Param("storeIds") Collection<Long> storeIds);
 }
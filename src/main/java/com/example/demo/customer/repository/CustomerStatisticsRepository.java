@@ -5,6 +5,7 @@ import com.example.demo.store.dto.MenuSalesStatisticsDto;
 import com.example.demo.customer.entity.CustomerStatistics;
 import com.example.demo.customer.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -23,10 +24,10 @@ public interface CustomerStatisticsRepository extends JpaRepository<CustomerStat
         SUM(s.orderAmount),
         SUM(s.orderAmount * s.orderPrice)
     )
-    FROM CustomerStatistics s, StoreMenu m
-    WHERE s.orderDetails = m.menuName
-      AND s.store.storeId = m.store.storeId
-      AND s.store.storeId = :storeId
+    FROM CustomerStatistics s
+    JOIN s.storeMenu m
+    WHERE s.store.storeId = :storeId
+      AND s.lineType = com.example.demo.customer.entity.OrderLineType.MENU
       AND s.date BETWEEN :start AND :end
     GROUP BY m.menuName, m.imageUrl
 """)
@@ -43,10 +44,10 @@ public interface CustomerStatisticsRepository extends JpaRepository<CustomerStat
         SUM(s.orderAmount),
         SUM(s.orderAmount * s.orderPrice)
     )
-    FROM CustomerStatistics s, StoreMenu m
-    WHERE s.orderDetails = m.menuName
-      AND s.store.storeId = m.store.storeId
-      AND s.customer.customerId = :customerId
+    FROM CustomerStatistics s
+    JOIN s.storeMenu m
+    WHERE s.customer.customerId = :customerId
+      AND s.lineType = com.example.demo.customer.entity.OrderLineType.MENU
       AND s.store.storeName = :storeName
     GROUP BY m.menuName, m.imageUrl
 """)
@@ -55,5 +56,8 @@ public interface CustomerStatisticsRepository extends JpaRepository<CustomerStat
             @Param("storeName") String storeName
     );
 
-
+    // 메뉴 삭제 전에 주문 항목의 메뉴 연결을 끊음 (주문 항목은 orderDetails 의 메뉴명으로 남음)
+    @Modifying
+    @Query("UPDATE CustomerStatistics s SET s.storeMenu = null WHERE s.storeMenu.menuId = :menuId")
+    int detachMenu(@Param("menuId") Long menuId);
 }
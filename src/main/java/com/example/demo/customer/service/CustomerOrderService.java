@@ -2,16 +2,19 @@ package com.example.demo.customer.service;
 
 import com.example.demo.KakaoPay.KakaoPayRequest;
 import com.example.demo.benefit.dto.CustomerCouponDto;
-import com.example.demo.benefit.repository.CustomerPointRepository;
 import com.example.demo.benefit.service.CustomerCouponService;
+import com.example.demo.benefit.service.PointLedgerService;
 import com.example.demo.customer.repository.CustomerStatisticsRepository;
 import com.example.demo.order.dto.OrderDTO;
 import com.example.demo.customer.entity.CustomerStatistics;
 import com.example.demo.order.entity.OrderGroup;
 import com.example.demo.customer.entity.Customer;
-import com.example.demo.customer.entity.CustomerPoint;
+import com.example.demo.customer.entity.OrderLineType;
+import com.example.demo.store.entity.StoreMenu;
+import com.example.demo.store.repository.StoreMenuRepository;
 import com.example.demo.store.entity.Store;
 import com.example.demo.order.repository.OrderGroupRepository;
+import com.example.demo.setting.webSock.OrderBoardPublisher;
 import com.example.demo.store.repository.StoreRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -20,17 +23,23 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CustomerOrderService {
-    private final CustomerPointRepository customerPointRepository;
+    private final PointLedgerService pointLedgerService;
     private final CustomerStatisticsRepository customerStatisticsRepository;
     private final StoreRepository storeRepository;
+    private final StoreMenuRepository storeMenuRepository;
     private final OrderGroupRepository orderGroupRepository;
     private final CustomerCouponService customerCouponService;
+    private final OrderBoardPublisher orderBoardPublisher;
 
     @Transactional
     public KakaoPayRequest.OrderRequest order(List<OrderDTO> orders, Customer customer, Long storeId) {
@@ -46,8 +55,14 @@ public class CustomerOrderService {
                 .build();
         orderGroupRepository.save(orderGroup);
 
+        // 메뉴 항목을 menu_id로 연결하기 위해 매장 메뉴를 한 번에 조회
+        Map<String, StoreMenu> menusByName = storeMenuRepository.findByStore(store).stream()
+                .collect(Collectors.toMap(StoreMenu::getMenuName, Function.identity(), (a, b) -> a));
+
+        List<CustomerStatistics> lines = new ArrayList<>(orders.size());
         for (OrderDTO dto : orders) {
-            if ("UserPointUsedOrNotUsed".equals(dto.getMenuName()) && customer == null) {
+            OrderLineType lineType = OrderLineType.of(dto.getMenuName());
+            if (lineType == OrderLineType.POINT && customer == null) {
                 log.warn("⚠️ 고객 없음 - 포인트 항목 저장 스킵: {}", dto);
                 continue;
             }
@@ -57,13 +72,16 @@ public class CustomerOrderService {
             int orderAmount = Math.toIntExact(dto.getMenuAmount());
 
             // 쿠폰 또는 포인트 사용 시, 가격을 음수로 조정
-            if (orderDetails.startsWith("CouponUsed:") || orderDetails.equals("UserPointUsedOrNotUsed")) {
+            if (lineType != OrderLineType.MENU) {
                 adjustedPrice = -adjustedPrice;
             }
 
             CustomerStatistics customerStatistics = CustomerStatistics.builder()
                     .store(store)
                     .orderDetails(orderDetails) // "CouponUsed:[UUID]" 또는 "UserPointUsedOrNotUsed"가 저장됨
+                    .lineType(lineType)
+                    .couponUuid(lineType == OrderLineType.COUPON ? OrderLineType.couponUuidOf(orderDetails) : null)
+                    .storeMenu(lineType == OrderLineType.MENU ? menusByName.get(orderDetails) : null)
                     .orderAmount(orderAmount)
                     .date(LocalDate.now())
                     .orderPrice(adjustedPrice)
@@ -71,9 +89,11 @@ public class CustomerOrderService {
                     .orderGroup(orderGroup)
                     .build();
 
-            customerStatisticsRepository.save(customerStatistics);
+            lines.add(customerStatistics);
             totalAmount += adjustedPrice * dto.getMenuAmount();
         }
+        // 주문 항목은 한 번의 JDBC 배치로 insert
+        customerStatisticsRepository.saveAll(lines);
 
         String representativeMenu = orders.isEmpty() ? "메뉴 없음" : orders.get(0).getMenuName();
         if (orders.size() > 1) {
@@ -93,13 +113,12 @@ public class CustomerOrderService {
         orderGroupRepository.findById(orderGroupId).ifPresent(orderGroup -> {
             customerStatisticsRepository.deleteAll(orderGroup.getCustomerStatisticsList());
             orderGroupRepository.delete(orderGroup); // 주문 자체 삭제
+            orderBoardPublisher.discardOrder(orderGroup.getStoreId(), orderGroupId);
             log.info("❌ 결제 실패: 주문 {} 관련 통계 및 그룹 삭제됨", orderGroupId);
         });
     }
 
     public long getPoint(Customer customer) {
-        return customerPointRepository.findByCustomer(customer)
-                .map(CustomerPoint::getPointAmount)
-                .orElse(0L); // 포인트 정보 없으면 0
+        return pointLedgerService.getBalance(customer.getId()); // 포인트 정보 없으면 0
     }
 }
\ No newline at end of file
@@ -9,12 +9,14 @@ import com.example.demo.customer.dto.UnreviewedStatisticsDto;
 import com.example.demo.customer.entity.CustomerReviewCollect;
 import com.example.demo.customer.entity.CustomerStatistics;
 import com.example.demo.customer.entity.Customer;
+import com.example.demo.customer.entity.OrderLineType;
 import com.example.demo.store.entity.Store;
 import com.example.demo.store.entity.StoreMenu;
 import com.example.demo.customer.repository.CustomerReviewCollectRepository;
 import com.example.demo.customer.repository.CustomerStatisticsRepository;
 import com.example.demo.store.repository.StoreMenuRepository;
 import com.example.demo.store.repository.StoreRepository;
+import com.example.demo.store.service.StoreCardService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
@@ -30,6 +32,7 @@ public class ReviewService {
     private final CustomerStatisticsRepository customerStatisticsRepository;
     private final CustomerReviewCollectRepository customerReviewCollectRepository;
     private final OrderGroupRepository orderGroupRepository;
+    private final StoreCardService storeCardService;
 
     @PersistenceContext
     private EntityManager em;
@@ -39,8 +42,7 @@ public class ReviewService {
         List<CustomerStatistics> unreviewedList = customerStatisticsRepository.findByCustomerAndReviewedFalse(customer);
 
         return unreviewedList.stream()
-                .filter(stat -> !"UserPointUsedOrNotUsed".equals(stat.getOrderDetails())
-                        && !stat.getOrderDetails().startsWith("CouponUsed")) // 이 조건을 추가
+                .filter(stat -> stat.getLineType() == OrderLineType.MENU) // 쿠폰/포인트 항목은 리뷰 대상 아님
                 .map(stat -> new UnreviewedStatisticsDto(
                         stat.getId(),
                         stat.getStore().getStoreName(),
@@ -66,6 +68,7 @@ public class ReviewService {
         if (storeMenu != null) {
             storeMenu.updateRating(reviewWriteDTO.getReviewRating());
         }
+        storeCardService.markDirty(store.getStoreId()); // 별점/리뷰 수
     }
 
     public List<CustomerReviewDto> getReviewsByMenu(Long menuId) {
@@ -22,8 +22,17 @@ public class WeatherApiService {
     @Value("${weather.api.key}")
     private String apiKey;
 
-    // 위도/경도로 현재 날씨 조회
+    // 위도/경도로 현재 날씨 조회 (실패 시 기본 날씨)
     public Mono<WeatherResponse> getCurrentWeather(double lat, double lon) {
+        return fetchCurrentWeather(lat, lon)
+            .onErrorResume(throwable -> {
+                log.error("Weather API fallback triggered", throwable);
+                return Mono.just(createFallbackWeather(lat, lon));
+            });
+    }
+
+    // 위도/경도로 현재 날씨 조회 (실패하면 그대로 에러, WeatherCache 에서 이전 값으로 대체)
+    public Mono<WeatherResponse> fetchCurrentWeather(double lat, double lon) {
         return webClient.get()
             .uri(uriBuilder -> uriBuilder
                 .scheme("https")
@@ -38,11 +47,7 @@ public class WeatherApiService {
             .retrieve()
             .bodyToMono(WeatherResponse.class)
             .doOnSuccess(response -> log.info("Weather API success for lat: {}, lon: {}", lat, lon))
-            .doOnError(error -> log.error("Weather API error for lat: {}, lon: {}", lat, lon, error))
-            .onErrorResume(throwable -> {
-                log.error("Weather API fallback triggered", throwable);
-                return Mono.just(createFallbackWeather(lat, lon));
-            });
+            .doOnError(error -> log.error("Weather API error for lat: {}, lon: {}", lat, lon, error));
     }
 
     // 5일 예보 조회 (추가 기능)
@@ -63,7 +68,7 @@ public class WeatherApiService {
     }
 
     // API 장애 시 기본 날씨 데이터
-    private WeatherResponse createFallbackWeather(double lat, double lon) {
+    public WeatherResponse createFallbackWeather(double lat, double lon) {
         // 기본 맑은 날씨 데이터 반환
         return WeatherResponse.builder()
             .main(WeatherMain.builder()
@@ -0,0 +1,173 @@
+package com.example.demo.external.weather.service;
+
+import com.example.demo.external.weather.dto.WeatherResponse;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 현재 날씨 캐시 (격자 칸 단위)
+ *
+ * 위도/경도를 cell-degrees(약 5km) 칸으로 묶어서, 같은 칸의 매장들은 날씨 API를 한 번만 호출합니다.
+ * - ttl-seconds 동안은 저장된 값 사용 (OpenWeather 현재 날씨 갱신 주기 약 10분)
+ * - 같은 칸을 동시에 조회하면 호출은 한 번만 하고 결과를 나눠 씀
+ * - API 호출이 실패하면 stale-seconds 이내의 이전 값을, 그것도 없으면 기본 날씨를 돌려줌
+ *   (이전 값이 있으면 retry-seconds 동안은 다시 호출하지 않고 이전 값 사용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WeatherCache {
+
+    private final WeatherApiService weatherApiService;
+
+    @Value("${weather.cache.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    @Value("${weather.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${weather.cache.stale-seconds:10800}")
+    private long staleSeconds;
+
+    @Value("${weather.cache.retry-seconds:60}")
+    private long retrySeconds;
+
+    @Value("${weather.cache.timeout-seconds:5}")
+    private long timeoutSeconds;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<WeatherResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public WeatherResponse getCurrentWeather(double latitude, double longitude) {
+        Cell cell = cellOf(latitude, longitude);
+        String key = cell.getKey();
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.fetchedAt < ttlSeconds * 1000) {
+            hits.increment();
+            return entry.weather;
+        }
+        if (entry != null && now < entry.retryAt) {
+            staleServed.increment(); // 최근 호출 실패, 잠시 이전 값 사용
+            return entry.weather;
+        }
+
+        CompletableFuture<WeatherResponse> future = new CompletableFuture<>();
+        CompletableFuture<WeatherResponse> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            coalesced.increment();
+            return running.join();
+        }
+
+        try {
+            future.complete(load(key, cell.getLatitude(), cell.getLongitude(), entry));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+        return future.join();
+    }
+
+    // 좌표가 속한 날씨 칸 (같은 칸의 매장은 같은 날씨를 씀)
+    public Cell cellOf(double latitude, double longitude) {
+        long row = Math.round(latitude / cellDegrees);
+        long col = Math.round(longitude / cellDegrees);
+        return new Cell(row + ":" + col, row * cellDegrees, col * cellDegrees);
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + coalesced.sum() + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cells", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("coalesced", coalesced.sum());
+        stats.put("misses", missCount);
+        stats.put("staleServed", staleServed.sum());
+        stats.put("failures", failures.sum());
+        stats.put("hitRate", total == 0 ? 0.0 : (double) (hitCount + coalesced.sum()) / total);
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.cache.stats-log-ms:300000}")
+    public void logStats() {
+        // 오래된 칸 정리 후 기록
+        long threshold = System.currentTimeMillis() - staleSeconds * 1000;
+        entries.values().removeIf(entry -> entry.fetchedAt < threshold);
+        log.info("날씨 캐시: {}", getStats());
+    }
+
+    private WeatherResponse load(String key, double latitude, double longitude, Entry previous) {
+        misses.increment();
+        try {
+            WeatherResponse weather = weatherApiService.fetchCurrentWeather(latitude, longitude)
+                    .block(Duration.ofSeconds(timeoutSeconds));
+            if (weather == null || weather.getWeather() == null || weather.getWeather().isEmpty() || weather.getMain() == null) {
+                throw new IllegalStateException("날씨 응답이 비어 있습니다.");
+            }
+            entries.put(key, new Entry(weather, System.currentTimeMillis(), 0));
+            return weather;
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (previous != null && System.currentTimeMillis() - previous.fetchedAt < staleSeconds * 1000) {
+                staleServed.increment();
+                entries.put(key, new Entry(previous.weather, previous.fetchedAt, System.currentTimeMillis() + retrySeconds * 1000));
+                log.warn("날씨 조회 실패, 이전 값 사용 - 칸: {}, {}초 전 값, {}", key,
+                        (System.currentTimeMillis() - previous.fetchedAt) / 1000, e.getMessage());
+                return previous.weather;
+            }
+            log.warn("날씨 조회 실패, 기본 날씨 사용 - 칸: {}, {}", key, e.getMessage());
+            return weatherApiService.createFallbackWeather(latitude, longitude); // 저장하지 않고 다음 요청에서 다시 시도
+        }
+    }
+
+    @Getter
+    @EqualsAndHashCode(of = "key")
+    public static class Cell {
+        private final String key;
+        private final double latitude;  // 칸 중심
+        private final double longitude;
+
+        private Cell(String key, double latitude, double longitude) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+
+    private static class Entry {
+        private final WeatherResponse weather;
+        private final long fetchedAt;
+        private final long retryAt; // 이 시각 전에는 API를 다시 호출하지 않음
+
+        private Entry(WeatherResponse weather, long fetchedAt, long retryAt) {
+            this.weather = weather;
+            this.fetchedAt = fetchedAt;
+            this.retryAt = retryAt;
+        }
+    }
+}
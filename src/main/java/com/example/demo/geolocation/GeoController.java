@@ -12,6 +12,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.UnsupportedEncodingException;
@@ -25,12 +26,29 @@ public class GeoController {
     private final GeoService geoService;
     private final CustomerCouponService customerCouponService;
     @GetMapping("/location")
-    public ResponseEntity<List<GeoResponseStoreDto>> findAroundStore(@ModelAttribute GeoRequestDto geoRequestDto) {
-        SimpleAddressDto result = geoService.requestGeolocation(geoRequestDto);
-        List<GeoResponseStoreDto> geoResponseStoreDto = geoService.findStore(result);
+    public ResponseEntity<List<GeoResponseStoreDto>> findAroundStore(@ModelAttribute GeoRequestDto geoRequestDto,
+                                                                     @RequestParam(required = false) Double radius) {
+        // 행정구역 이름이 아닌 실제 거리 기준 (역지오코딩 호출 없음)
+        List<GeoResponseStoreDto> geoResponseStoreDto = geoService.findStore(geoRequestDto, radius);
         return ResponseEntity.ok(geoResponseStoreDto);
     }
 
+    @GetMapping("/location/nearest")
+    public ResponseEntity<List<GeoResponseStoreDto>> findNearestStore(@ModelAttribute GeoRequestDto geoRequestDto,
+                                                                      @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(geoService.findNearestStores(geoRequestDto, k));
+    }
+
+    // 지도 화면 한 번 요청으로 주변 매장 + 쿠폰 + 별점 + 대표 메뉴 (가까운 순, 커서 페이지)
+    @GetMapping("/location/nearby")
+    public ResponseEntity<NearbyResponseDto> findNearby(@ModelAttribute GeoRequestDto geoRequestDto,
+                                                        @RequestParam(required = false) Double radius,
+                                                        @RequestParam(required = false) Double cursorDistance,
+                                                        @RequestParam(required = false) Long cursorStoreId,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(geoService.findNearby(geoRequestDto, radius, cursorDistance, cursorStoreId, size));
+    }
+
     @GetMapping("/location/coupon")
     public ResponseEntity<?> findAroundStoreCoupon(@ModelAttribute GeoRequestDto geoRequestDto) {
         SimpleAddressDto result = geoService.requestGeolocation(geoRequestDto);
@@ -11,8 +11,14 @@ import lombok.NoArgsConstructor;
 public class GeoResponseStoreDto {
     String storeName;
     long storeId;
+    Long distanceMeters; // 요청 위치에서의 거리 (m)
     public GeoResponseStoreDto(Store store) {
         this.storeName = store.getStoreName();
         this.storeId = store.getStoreId();
     }
+
+    public GeoResponseStoreDto(Store store, double distanceMeters) {
+        this(store);
+        this.distanceMeters = Math.round(distanceMeters);
+    }
 }
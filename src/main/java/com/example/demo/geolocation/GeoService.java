@@ -1,12 +1,13 @@
 package com.example.demo.geolocation;
 
 import com.example.demo.benefit.dto.CouponDto;
-import com.example.demo.benefit.entity.Coupon;
-import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.benefit.service.AvailableCouponCache;
+import com.example.demo.store.dto.StoreRatingSummary;
+import com.example.demo.store.dto.StoreTopMenu;
 import com.example.demo.store.entity.Store;
-import com.example.demo.store.entity.StoreLocation;
-import com.example.demo.store.repository.StoreLocationRepository;
+import com.example.demo.store.repository.StoreMenuRepository;
 import com.example.demo.store.repository.StoreRepository;
+import com.example.demo.store.service.StoreSpatialIndex;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,25 +15,40 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class GeoService {
     private final StoreRepository storeRepository;
-    private final CouponRepository couponRepository;
-    private final StoreLocationRepository storeLocationRepository;
+    private final AvailableCouponCache availableCouponCache;
+    private final StoreSpatialIndex storeSpatialIndex;
+    private final StoreMenuRepository storeMenuRepository;
+    private final ReverseGeocodeCache reverseGeocodeCache;
+    private final ObjectMapper objectMapper;
+
+    // 요청마다 새로 만들지 않고 재사용 (스레드 안전)
+    private final RestTemplate restTemplate = createRestTemplate();
+
+    private static final int MAX_NEAREST = 50;
+    private static final int MAX_NEARBY_PAGE_SIZE = 50;
+
+    @Value("${store.geo.radius-meters:2000}")
+    private double defaultRadiusMeters;
+
+    @Value("${store.geo.max-radius-meters:20000}")
+    private double maxRadiusMeters;
 
     @Value("${naver.cloud.AccessKey}")
     private String geoAccessKey;
@@ -42,8 +58,6 @@ public class GeoService {
 
 
     public Map<String, String> makeHeaders() {
-        log.info("geoAccessKey: " + geoAccessKey);
-        log.info("geoSecret: " + geoSecret);
         Map<String, String> headers = new HashMap<>();
         headers.put("x-ncp-apigw-api-key-id", geoAccessKey);
         headers.put("x-ncp-apigw-api-key", geoSecret);
@@ -52,31 +66,31 @@ public class GeoService {
     }
 
 
+    // 좌표 -> 주소 (약 100m 칸 단위로 캐시, 캐시에 없을 때만 네이버 API 호출)
     public SimpleAddressDto requestGeolocation(GeoRequestDto geoRequestDto) {
+        return reverseGeocodeCache.get(
+                parseCoordinate(geoRequestDto.getLatitude(), 90),
+                parseCoordinate(geoRequestDto.getLongitude(), 180),
+                this::fetchAddress);
+    }
+
+    // 결과가 없으면 null
+    private SimpleAddressDto fetchAddress(double latitude, double longitude) {
         try {
-            String lat = geoRequestDto.getLatitude();
-            String lng = geoRequestDto.getLongitude();
-//            String url = "https://maps.apigw.ntruss.com/map-reversegeocode/v2/gc?coords="
-//                    + lng + "," + lat + "&output=json&orders=legalcode%2Cadmcode%2Caddr%2Croadaddr";
             String url = UriComponentsBuilder
                     .fromHttpUrl("https://maps.apigw.ntruss.com/map-reversegeocode/v2/gc")
-                    .queryParam("coords", lng + "," + lat)
+                    .queryParam("coords", longitude + "," + latitude)
                     .queryParam("output", "json")
                     .queryParam("orders", "legalcode,admcode,addr,roadaddr") // 절대 인코딩된 상태로 넣지 말 것
                     .build()
                     .toUriString();
 
-
-            Map<String, String> headersMap = makeHeaders();
-
             HttpHeaders headers = new HttpHeaders();
-            headers.setAll(headersMap);
+            headers.setAll(makeHeaders());
             headers.set("User-Agent", "Mozilla/5.0");
             headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-            log.info(headers.toString());
             HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
 
-            RestTemplate restTemplate = new RestTemplate();
             ResponseEntity<String> response = restTemplate.exchange(
                     url,
                     HttpMethod.GET,
@@ -84,15 +98,16 @@ public class GeoService {
                     String.class
             );
 
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(response.getBody());
-
-            JsonNode area1Node = root.path("results").get(0).path("region").path("area1").path("name");
-            JsonNode area2Node = root.path("results").get(0).path("region").path("area2").path("name");
-            JsonNode area3Node = root.path("results").get(0).path("region").path("area3").path("name");
+            JsonNode results = objectMapper.readTree(response.getBody()).path("results");
+            if (results.isEmpty()) {
+                return null;
+            }
+            JsonNode region = results.get(0).path("region");
 
             return new SimpleAddressDto(
-                    area1Node.asText(), area2Node.asText(), area3Node.asText()
+                    region.path("area1").path("name").asText(),
+                    region.path("area2").path("name").asText(),
+                    region.path("area3").path("name").asText()
             );
         } catch (HttpClientErrorException e) {
             log.error("❌ API 호출 실패: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -102,27 +117,166 @@ public class GeoService {
         }
     }
 
-    public List<GeoResponseStoreDto> findStore(SimpleAddressDto simpleAddressDto) {
-        log.info("getCity" + simpleAddressDto.getCity());
-        log.info("getDistrict" + simpleAddressDto.getDistrict());
-        List<StoreLocation> locations = storeLocationRepository.findByDistrict(
-                simpleAddressDto.getDistrict()
-        );
-        for (StoreLocation storeLocation : locations) {
-            log.info(storeLocation.getCity());
+    // 반경 안의 매장 (가까운 순, radiusMeters 가 없으면 기본 반경)
+    public List<GeoResponseStoreDto> findStore(GeoRequestDto geoRequestDto, Double radiusMeters) {
+        return toStoreDtos(storeSpatialIndex.withinRadius(
+                parseCoordinate(geoRequestDto.getLatitude(), 90),
+                parseCoordinate(geoRequestDto.getLongitude(), 180),
+                resolveRadius(radiusMeters)));
+    }
+
+    /**
+     * 주변 매장 화면용 (가까운 순, 거리 기준 커서 페이지)
+     * 매장마다 발급 가능 쿠폰, 평균 별점, 판매량 1위 메뉴를 함께 담고,
+     * 결과 개수와 관계없이 매장/쿠폰/별점/메뉴를 각각 한 번씩만 조회합니다.
+     *
+     * 역지오코딩(외부 API, 최대 수 초)이 DB 커넥션을 잡고 기다리지 않도록 트랜잭션 없이 주소를 먼저 구하고,
+     * 이후 조회는 각 쿼리가 짧게 커넥션을 쓰고 돌려줍니다. (매장은 기본 컬럼만 읽으므로 지연 로딩 없음)
+     */
+    public NearbyResponseDto findNearby(GeoRequestDto geoRequestDto, Double radiusMeters,
+                                        Double cursorDistance, Long cursorStoreId, int size) {
+        if (size <= 0 || size > MAX_NEARBY_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_NEARBY_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        double latitude = parseCoordinate(geoRequestDto.getLatitude(), 90);
+        double longitude = parseCoordinate(geoRequestDto.getLongitude(), 180);
+
+        // 주소는 화면 표시용이므로 실패해도 매장 목록은 돌려줌
+        SimpleAddressDto address = null;
+        try {
+            address = requestGeolocation(geoRequestDto);
+        } catch (RuntimeException e) {
+            log.warn("주변 매장 조회 중 역지오코딩 실패: {}", e.getMessage());
+        }
+
+        List<StoreSpatialIndex.StoreDistance> hits = storeSpatialIndex.withinRadius(latitude, longitude, resolveRadius(radiusMeters));
+        if (cursorDistance != null && cursorStoreId != null) {
+            hits = hits.stream()
+                    .filter(hit -> hit.getDistanceMeters() > cursorDistance
+                            || (hit.getDistanceMeters() == cursorDistance && hit.getStoreId() > cursorStoreId))
+                    .toList();
+        }
+        boolean hasNext = hits.size() > size;
+        List<StoreSpatialIndex.StoreDistance> page = hasNext ? hits.subList(0, size) : hits;
+
+        List<NearbyStoreDto> stores = toNearbyStores(page);
+        StoreSpatialIndex.StoreDistance last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return NearbyResponseDto.builder()
+                .address(address)
+                .stores(stores)
+                .nextCursorDistance(hasNext ? last.getDistanceMeters() : null)
+                .nextCursorStoreId(hasNext ? last.getStoreId() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private List<NearbyStoreDto> toNearbyStores(List<StoreSpatialIndex.StoreDistance> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> storeIds = hits.stream().map(StoreSpatialIndex.StoreDistance::getStoreId).toList();
+
+        Map<Long, Store> stores = new HashMap<>();
+        for (Store store : storeRepository.findAllById(storeIds)) {
+            stores.put(store.getStoreId(), store);
+        }
+        Map<Long, List<CouponDto>> coupons = availableCouponCache.getByStores(storeIds);
+        Map<Long, StoreRatingSummary> ratings = new HashMap<>();
+        for (StoreRatingSummary rating : storeMenuRepository.findRatingSummaries(storeIds)) {
+            ratings.put(rating.getStoreId(), rating);
+        }
+        Map<Long, StoreTopMenu> topMenus = new HashMap<>();
+        for (StoreTopMenu menu : storeMenuRepository.findTopMenus(storeIds)) {
+            topMenus.putIfAbsent(menu.getStoreId(), menu); // 동률이면 먼저 등록된 메뉴
+        }
+
+        List<NearbyStoreDto> result = new ArrayList<>(hits.size());
+        for (StoreSpatialIndex.StoreDistance hit : hits) {
+            Store store = stores.get(hit.getStoreId());
+            if (store == null) {
+                continue;
+            }
+            StoreRatingSummary rating = ratings.get(hit.getStoreId());
+            StoreTopMenu menu = topMenus.get(hit.getStoreId());
+            result.add(NearbyStoreDto.builder()
+                    .storeId(store.getStoreId())
+                    .storeName(store.getStoreName())
+                    .distanceMeters(Math.round(hit.getDistanceMeters()))
+                    .averageRating(rating != null ? rating.getAverageRating() : null)
+                    .ratingCount(rating != null ? rating.getRatingCount() : 0)
+                    .topMenu(menu == null || menu.getTotalSales() == null || menu.getTotalSales() == 0 ? null
+                            : NearbyStoreDto.TopMenu.builder()
+                            .menuId(menu.getMenuId())
+                            .menuName(menu.getMenuName())
+                            .price(menu.getPrice())
+                            .imageUrl(menu.getImageUrl())
+                            .build())
+                    .coupons(coupons.getOrDefault(hit.getStoreId(), List.of()))
+                    .build());
+        }
+        return result;
+    }
+
+    private double resolveRadius(Double radiusMeters) {
+        double radius = radiusMeters != null ? Math.min(radiusMeters, maxRadiusMeters) : defaultRadiusMeters;
+        if (radius <= 0) {
+            throw new IllegalArgumentException("반경은 0보다 커야 합니다.");
+        }
+        return radius;
+    }
+
+    // 가장 가까운 매장 k개
+    public List<GeoResponseStoreDto> findNearestStores(GeoRequestDto geoRequestDto, int k) {
+        if (k <= 0 || k > MAX_NEAREST) {
+            throw new IllegalArgumentException("k는 1 이상 " + MAX_NEAREST + " 이하여야 합니다.");
+        }
+        return toStoreDtos(storeSpatialIndex.nearest(
+                parseCoordinate(geoRequestDto.getLatitude(), 90),
+                parseCoordinate(geoRequestDto.getLongitude(), 180),
+                k, maxRadiusMeters));
+    }
+
+    // 색인 결과 순서(거리순)를 유지하면서 매장 정보는 한 번에 조회
+    private List<GeoResponseStoreDto> toStoreDtos(List<StoreSpatialIndex.StoreDistance> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Store> stores = new HashMap<>();
+        for (Store store : storeRepository.findAllById(hits.stream().map(StoreSpatialIndex.StoreDistance::getStoreId).toList())) {
+            stores.put(store.getStoreId(), store);
+        }
+        List<GeoResponseStoreDto> result = new ArrayList<>(hits.size());
+        for (StoreSpatialIndex.StoreDistance hit : hits) {
+            Store store = stores.get(hit.getStoreId());
+            if (store != null) {
+                result.add(new GeoResponseStoreDto(store, hit.getDistanceMeters()));
+            }
+        }
+        return result;
+    }
+
+    private static RestTemplate createRestTemplate() {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(2000);
+        factory.setReadTimeout(3000);
+        return new RestTemplate(factory);
+    }
+
+    private static double parseCoordinate(String value, double limit) {
+        try {
+            double coordinate = Double.parseDouble(value);
+            if (Math.abs(coordinate) > limit) {
+                throw new IllegalArgumentException("위도/경도 범위를 벗어났습니다: " + value);
+            }
+            return coordinate;
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new IllegalArgumentException("위도/경도 형식이 올바르지 않습니다: " + value);
         }
-        return locations.stream()
-                .map(StoreLocation::getStore)              // StoreLocation → Store
-                .map(GeoResponseStoreDto::new)             // Store → DTO
-                .toList();
     }
 
     @Transactional(readOnly = true)
     public List<CouponDto> getAllAvailableCoupons(SimpleAddressDto simpleAddressDto) {
-        List<Coupon> availableCoupons = couponRepository.findAllAroundStoreCoupons(LocalDateTime.now().plusHours(9),simpleAddressDto.getDistrict());
-        return availableCoupons.stream()
-                .map(CouponDto::fromEntity)
-                .collect(Collectors.toList());
+        return availableCouponCache.getByDistrict(simpleAddressDto.getDistrict());
     }
 
 
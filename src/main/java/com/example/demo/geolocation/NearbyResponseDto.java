@@ -0,0 +1,16 @@
+package com.example.demo.geolocation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class NearbyResponseDto {
+    private SimpleAddressDto address;   // 역지오코딩 실패 시 null
+    private List<NearbyStoreDto> stores; // 가까운 순
+    private Double nextCursorDistance;  // 다음 페이지 요청 시 cursorDistance (마지막 페이지면 null)
+    private Long nextCursorStoreId;     // 다음 페이지 요청 시 cursorStoreId (마지막 페이지면 null)
+    private boolean hasNext;
+}
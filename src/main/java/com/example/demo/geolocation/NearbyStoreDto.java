@@ -0,0 +1,28 @@
+package com.example.demo.geolocation;
+
+import com.example.demo.benefit.dto.CouponDto;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class NearbyStoreDto {
+    private long storeId;
+    private String storeName;
+    private long distanceMeters;     // 요청 위치에서의 거리 (m)
+    private Double averageRating;    // 평가가 없으면 null
+    private long ratingCount;
+    private TopMenu topMenu;         // 판매 기록이 없으면 null
+    private List<CouponDto> coupons; // 지금 발급 가능한 쿠폰
+
+    @Getter
+    @Builder
+    public static class TopMenu {
+        private Long menuId;
+        private String menuName;
+        private Integer price;
+        private String imageUrl;
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.demo.geolocation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * 역지오코딩 결과 캐시 (좌표 -> 시/구/동)
+ *
+ * 위도/경도를 grid-degrees(약 100m) 격자로 맞춘 칸을 키로 씁니다.
+ * - 1단계: 메모리 LRU (l1-max-entries 개)
+ * - 2단계: Redis (노드 간 공유, ttl-seconds)
+ * - 주소가 없는 칸(빈 결과)은 negative-ttl-seconds 동안 API를 다시 호출하지 않음
+ * - API 오류(시간 초과, 5xx, 인증 실패 등)는 호출한 쪽으로 그대로 전달하고 (500 응답),
+ *   장애 중 요청마다 시간 초과를 기다리지 않도록 failure-ttl-seconds 동안은 API 없이 바로 실패시킴
+ * - 같은 칸을 동시에 조회하면 API는 한 번만 호출하고 결과를 나눠 씀
+ *
+ * 주소는 칸 중심 좌표로 조회하므로 같은 칸이면 항상 같은 결과가 나옵니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReverseGeocodeCache {
+
+    private static final String KEY_PREFIX = "geo:reverse:";
+    private static final String NOT_FOUND = "-"; // Redis 에 저장하는 빈 결과 표시
+    private static final String UNAVAILABLE = "!"; // Redis 에 저장하는 API 장애 표시
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${geo.reverse.grid-degrees:0.001}")
+    private double gridDegrees;
+
+    @Value("${geo.reverse.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${geo.reverse.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    @Value("${geo.reverse.failure-ttl-seconds:5}")
+    private long failureTtlSeconds;
+
+    @Value("${geo.reverse.l1-max-entries:10000}")
+    private int l1MaxEntries;
+
+    private final Map<String, Entry> local = new LinkedHashMap<>(256, 0.75f, true);
+    private final ConcurrentMap<String, CompletableFuture<SimpleAddressDto>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder failureHits = new LongAdder();
+
+    /**
+     * 좌표의 주소 조회
+     * @param loader 캐시에 없을 때 호출할 API (칸 중심 위도, 경도)
+     * @throws IllegalArgumentException 주소를 찾지 못한 칸 (최근에 빈 결과였던 칸 포함)
+     * @throws RuntimeException API 호출 자체가 실패한 경우 (loader 예외 그대로,
+     *                          최근 실패가 캐시된 동안은 ReverseGeocodeUnavailableException)
+     */
+    public SimpleAddressDto get(double latitude, double longitude, BiFunction<Double, Double, SimpleAddressDto> loader) {
+        long row = Math.round(latitude / gridDegrees);
+        long col = Math.round(longitude / gridDegrees);
+        String key = row + ":" + col;
+
+        Entry entry = getLocal(key);
+        if (entry != null) {
+            if (entry.unavailable) {
+                failureHits.increment();
+            } else {
+                localHits.increment();
+            }
+            return entry.unwrap();
+        }
+
+        CompletableFuture<SimpleAddressDto> future = new CompletableFuture<>();
+        CompletableFuture<SimpleAddressDto> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+
+        try {
+            entry = load(key, row * gridDegrees, col * gridDegrees, loader);
+            putLocal(key, entry);
+            if (entry.address != null) {
+                future.complete(entry.address);
+            } else {
+                future.completeExceptionally(entry.failure());
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+        return join(future);
+    }
+
+    public Map<String, Object> getStats() {
+        long localHitCount = localHits.sum();
+        long redisHitCount = redisHits.sum();
+        long missCount = misses.sum();
+        long total = localHitCount + redisHitCount + coalesced.sum() + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (local) {
+            stats.put("entries", local.size());
+        }
+        stats.put("localHits", localHitCount);
+        stats.put("redisHits", redisHitCount);
+        stats.put("coalesced", coalesced.sum());
+        stats.put("misses", missCount);
+        stats.put("failures", failures.sum());
+        stats.put("failureHits", failureHits.sum());
+        stats.put("localHitRate", total == 0 ? 0.0 : (double) localHitCount / total);
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${geo.reverse.stats-log-ms:300000}")
+    public void logStats() {
+        log.info("역지오코딩 캐시: {}", getStats());
+    }
+
+    private Entry load(String key, double latitude, double longitude, BiFunction<Double, Double, SimpleAddressDto> loader) {
+        String redisKey = KEY_PREFIX + key;
+        try {
+            String cached = redisTemplate.opsForValue().get(redisKey);
+            if (UNAVAILABLE.equals(cached)) {
+                failureHits.increment();
+                return Entry.unavailable(failureTtlSeconds);
+            }
+            if (cached != null) {
+                redisHits.increment();
+                return NOT_FOUND.equals(cached)
+                        ? Entry.notFound(negativeTtlSeconds)
+                        : Entry.of(objectMapper.readValue(cached, SimpleAddressDto.class), ttlSeconds);
+            }
+        } catch (Exception e) {
+            log.warn("역지오코딩 Redis 조회 실패 - key: {}, {}", redisKey, e.getMessage());
+        }
+
+        misses.increment();
+        SimpleAddressDto address;
+        try {
+            address = loader.apply(latitude, longitude);
+        } catch (RuntimeException e) {
+            // 장애는 빈 결과와 따로 짧게만 기억하고, 이번 요청에는 원래 예외를 그대로 전달
+            failures.increment();
+            log.warn("역지오코딩 실패 - 위도: {}, 경도: {}, {}", latitude, longitude, e.getMessage());
+            putLocal(key, Entry.unavailable(failureTtlSeconds));
+            try {
+                redisTemplate.opsForValue().set(redisKey, UNAVAILABLE, Duration.ofSeconds(failureTtlSeconds));
+            } catch (Exception redisError) {
+                log.warn("역지오코딩 Redis 저장 실패 - key: {}, {}", redisKey, redisError.getMessage());
+            }
+            throw e;
+        }
+
+        try {
+            if (address != null) {
+                redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(address), Duration.ofSeconds(ttlSeconds));
+                return Entry.of(address, ttlSeconds);
+            }
+            redisTemplate.opsForValue().set(redisKey, NOT_FOUND, Duration.ofSeconds(negativeTtlSeconds));
+        } catch (Exception e) {
+            log.warn("역지오코딩 Redis 저장 실패 - key: {}, {}", redisKey, e.getMessage());
+        }
+        return address != null ? Entry.of(address, ttlSeconds) : Entry.notFound(negativeTtlSeconds);
+    }
+
+    private Entry getLocal(String key) {
+        synchronized (local) {
+            Entry entry = local.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                local.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void putLocal(String key, Entry entry) {
+        synchronized (local) {
+            local.put(key, entry);
+            if (local.size() > l1MaxEntries) {
+                local.remove(local.keySet().iterator().next()); // 가장 오래 안 쓴 칸
+            }
+        }
+    }
+
+    private static SimpleAddressDto join(CompletableFuture<SimpleAddressDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static IllegalArgumentException notFound() {
+        return new IllegalArgumentException("해당 위치의 주소를 찾을 수 없습니다.");
+    }
+
+    private static class Entry {
+        private final SimpleAddressDto address; // null 이면 빈 결과 또는 API 장애
+        private final boolean unavailable;
+        private final long expiresAt;
+
+        private Entry(SimpleAddressDto address, boolean unavailable, long expiresAt) {
+            this.address = address;
+            this.unavailable = unavailable;
+            this.expiresAt = expiresAt;
+        }
+
+        private static Entry of(SimpleAddressDto address, long ttlSeconds) {
+            return new Entry(address, false, System.currentTimeMillis() + ttlSeconds * 1000);
+        }
+
+        private static Entry notFound(long ttlSeconds) {
+            return new Entry(null, false, System.currentTimeMillis() + ttlSeconds * 1000);
+        }
+
+        private static Entry unavailable(long ttlSeconds) {
+            return new Entry(null, true, System.currentTimeMillis() + ttlSeconds * 1000);
+        }
+
+        private RuntimeException failure() {
+            return unavailable ? new ReverseGeocodeUnavailableException() : notFound();
+        }
+
+        private SimpleAddressDto unwrap() {
+            if (address == null) {
+                throw failure();
+            }
+            return address;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.geolocation;
+
+// 역지오코딩 API 장애 (최근 실패가 캐시된 동안 API를 다시 호출하지 않고 던짐, 500 응답)
+public class ReverseGeocodeUnavailableException extends RuntimeException {
+
+    public ReverseGeocodeUnavailableException() {
+        super("주소 조회 서비스를 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
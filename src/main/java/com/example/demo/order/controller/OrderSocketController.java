@@ -1,19 +1,23 @@
 package com.example.demo.order.controller;
 
-import com.example.demo.order.dto.OrderGroupBatchMessage;
+import com.example.demo.order.dto.OrderBoardEvent;
 import com.example.demo.order.entity.OrderGroup;
 import com.example.demo.user.entity.AppUser;
 import com.example.demo.order.repository.OrderGroupRepository;
-import com.example.demo.setting.webSock.WebBroadCast;
+import com.example.demo.setting.webSock.OrderBoardPublisher;
+import com.example.demo.setting.webSock.OrderBoardSubscriptionInterceptor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/orders")
@@ -21,8 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrderSocketController {
 
     private final OrderGroupRepository orderGroupRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final WebBroadCast webBroadCast;
+    private final OrderBoardPublisher orderBoardPublisher;
 
     @Operation(summary = "주문 완료 처리", description = "점주가 특정 주문을 완료 처리합니다. 완료된 주문은 비활성 상태로 변경되고, 해당 매장의 모든 클라이언트에게 WebSocket을 통해 업데이트가 전송됩니다. 점주로 인증해야 합니다.")
     @SecurityRequirement(name = "bearer-key")
@@ -34,22 +37,30 @@ public class OrderSocketController {
         orderGroup.markAsCompleted(); // 주문 완료 처리
         orderGroupRepository.save(orderGroup);
 
-        //음식 완료 후 WebSocket 갱신
-        Long storeId = orderGroup.getStoreId();
-        OrderGroupBatchMessage message = webBroadCast.createInactiveOrderGroupMessage(storeId);
-        messagingTemplate.convertAndSend("/topic/orders/" + storeId, message);
+        //음식 완료 후 WebSocket 갱신 (완료된 주문만 델타로 전송)
+        orderBoardPublisher.publishOrderCompleted(orderGroup.getStoreId(), orderGroupId);
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "메뉴 정보 가져오기 (WebSocket)", description = "점주가 메뉴 정보를 요청하면, 해당 매장의 비활성 주문 목록을 WebSocket을 통해 클라이언트에게 전송합니다. 점주로 인증해야 합니다.")
+    @Operation(summary = "메뉴 정보 가져오기", description = "해당 매장의 비활성 주문 목록을 요청한 클라이언트에게만 반환합니다. (다른 구독자에게는 전송하지 않습니다) 점주로 인증해야 합니다.")
     @SecurityRequirement(name = "bearer-key")
     @GetMapping("/getMenu")
-    public ResponseEntity<Void> getMenu(@AuthenticationPrincipal AppUser appUser) {
-        Long storeId = appUser.getId();
-        OrderGroupBatchMessage message = webBroadCast.createInactiveOrderGroupMessage(storeId);
-        messagingTemplate.convertAndSend("/topic/orders/" + storeId, message);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<OrderBoardEvent> getMenu(@AuthenticationPrincipal AppUser appUser) {
+        return ResponseEntity.ok(orderBoardPublisher.createSnapshot(appUser.getId()));
     }
 
+    @Operation(summary = "주문 현황판 스냅샷 조회", description = "현재 매장의 주문 현황판 전체와 기준 sequence를 요청한 클라이언트에게만 반환합니다. 델타 이벤트의 sequence 누락을 감지한 경우 호출합니다. 점주로 인증해야 합니다.")
+    @SecurityRequirement(name = "bearer-key")
+    @GetMapping("/snapshot")
+    public ResponseEntity<OrderBoardEvent> getSnapshot(@AuthenticationPrincipal AppUser appUser) {
+        return ResponseEntity.ok(orderBoardPublisher.createSnapshot(appUser.getId()));
+    }
 
+    // /app/orders/{storeId} 구독 시 구독한 세션에게만 현재 스냅샷 전달 (이후 델타는 /topic/orders/{storeId})
+    // 해당 매장 점주로 로그인한 세션만 허용
+    @SubscribeMapping("/orders/{storeId}")
+    public OrderBoardEvent subscribeBoard(@DestinationVariable Long storeId, Principal principal) {
+        OrderBoardSubscriptionInterceptor.checkOwner(principal, storeId);
+        return orderBoardPublisher.createSnapshot(storeId);
+    }
 }
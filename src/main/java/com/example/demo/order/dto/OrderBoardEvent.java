@@ -0,0 +1,46 @@
+package com.example.demo.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * /topic/orders/{storeId} 로 전송되는 주문 현황판 메시지
+ *
+ * - ORDER_ADDED / ORDER_COMPLETED : 변경된 주문 그룹 하나만 담은 델타
+ * - SNAPSHOT : 현재 현황판 전체 (sequence 시점 기준)
+ * - BATCH : 짧은 시간 안에 몰린 델타 묶음 (events 순서대로 적용, sequence는 마지막 이벤트 값)
+ *
+ * sequence는 매장별로 1씩 증가합니다. 클라이언트는 마지막으로 받은 값 + 1이 아닌 sequence를 받으면
+ * 누락이 발생한 것으로 보고 GET /api/orders/snapshot 으로 스냅샷을 다시 받아야 합니다.
+ * 델타는 orderGroupId 기준으로 멱등하게 적용하면 됩니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBoardEvent {
+    private Type type;
+    private String storeId;
+    private long sequence;
+
+    // 델타 이벤트 대상
+    private Long orderGroupId;
+    private OrderGroupBatchMessage.OrderGroupEntry group;
+
+    // SNAPSHOT 전용
+    private List<OrderGroupBatchMessage.OrderGroupEntry> groups;
+
+    // BATCH 전용
+    private List<OrderBoardEvent> events;
+
+    public enum Type {
+        ORDER_ADDED,
+        ORDER_COMPLETED,
+        SNAPSHOT,
+        BATCH
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.order.dto;
+
+import com.example.demo.customer.entity.OrderLineType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 주문 현황판 조회용 프로젝션 (주문 그룹 + 주문 항목 + 쿠폰명 한 번에 조회)
+@Getter
+@AllArgsConstructor
+public class OrderBoardLineDto {
+    private Long orderGroupId;
+    private String orderDetails; // 항목이 없는 주문 그룹이면 null
+    private OrderLineType lineType;
+    private Long orderPrice;
+    private Long orderAmount;
+    private String couponName;   // 쿠폰 사용 항목일 때만 값이 있음
+}
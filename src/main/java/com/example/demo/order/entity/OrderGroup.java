@@ -16,7 +16,11 @@ import java.util.List;
 @Builder
 public class OrderGroup {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_group_id_gen")
+    @TableGenerator(name = "order_group_id_gen", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "order_group", allocationSize = 50)
     private Long id; // 주문 식별자 (자동 생성)
 
     private LocalDateTime createdAt;
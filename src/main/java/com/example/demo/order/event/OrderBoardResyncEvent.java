@@ -0,0 +1,15 @@
+package com.example.demo.order.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+// 주문 현황판 프로젝션이 DB 기준으로 재구성되었을 때 발행
+@Getter
+public class OrderBoardResyncEvent extends ApplicationEvent {
+    private final Long storeId;
+
+    public OrderBoardResyncEvent(Object source, Long storeId) {
+        super(source);
+        this.storeId = storeId;
+    }
+}
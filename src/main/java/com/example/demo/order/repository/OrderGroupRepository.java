@@ -1,6 +1,7 @@
 package com.example.demo.order.repository;
 
 import com.example.demo.customer.entity.Customer;
+import com.example.demo.order.dto.OrderBoardLineDto;
 import com.example.demo.order.entity.OrderGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -15,6 +16,40 @@ public interface OrderGroupRepository extends JpaRepository<OrderGroup, Long> {
 
     List<OrderGroup> findAllByStoreIdAndActiveFalseAndApprovedTrue(Long storeId);
 
+    // 주문 현황판 전체를 한 번의 쿼리로 조회 (주문 항목 + 쿠폰명 포함)
+    @Query("""
+    SELECT new com.example.demo.order.dto.OrderBoardLineDto(
+        g.id, s.orderDetails, s.lineType, s.orderPrice, s.orderAmount, c.couponName
+    )
+    FROM OrderGroup g
+    LEFT JOIN g.customerStatisticsList s
+    LEFT JOIN CustomerCoupon cc ON cc.couponUuid = s.couponUuid
+    LEFT JOIN cc.coupon c
+    WHERE g.storeId = :storeId
+      AND g.active = false
+      AND g.approved = true
+    ORDER BY g.id, s.id
+""")
+    List<OrderBoardLineDto> findOpenBoardLines(@Param("storeId") Long storeId);
+
+    // 주문 그룹 하나의 현황판 항목 조회 (델타 이벤트용)
+    @Query("""
+    SELECT new com.example.demo.order.dto.OrderBoardLineDto(
+        g.id, s.orderDetails, s.lineType, s.orderPrice, s.orderAmount, c.couponName
+    )
+    FROM OrderGroup g
+    LEFT JOIN g.customerStatisticsList s
+    LEFT JOIN CustomerCoupon cc ON cc.couponUuid = s.couponUuid
+    LEFT JOIN cc.coupon c
+    WHERE g.id = :orderGroupId
+    ORDER BY s.id
+""")
+    List<OrderBoardLineDto> findBoardLinesByOrderGroupId(@Param("orderGroupId") Long orderGroupId);
+
+    // 주문 현황판 정합성 검사용 (ID만 조회)
+    @Query("SELECT o.id FROM OrderGroup o WHERE o.storeId = :storeId AND o.active = false AND o.approved = true")
+    List<Long> findOpenBoardOrderGroupIds(@Param("storeId") Long storeId);
+
     @Modifying
     @Query("DELETE FROM OrderGroup o WHERE o.customer = :customer AND o.approved = :approved")
     void deleteAllByCustomerAndApproved(@Param("customer") Customer customer, @Param("approved") boolean approved);
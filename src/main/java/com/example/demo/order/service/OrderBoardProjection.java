@@ -0,0 +1,226 @@
+package com.example.demo.order.service;
+
+import com.example.demo.customer.entity.OrderLineType;
+import com.example.demo.order.dto.OrderBoardLineDto;
+import com.example.demo.order.dto.OrderGroupBatchMessage;
+import com.example.demo.order.entity.OrderGroup;
+import com.example.demo.order.event.OrderBoardResyncEvent;
+import com.example.demo.order.repository.OrderGroupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 매장별 주문 현황판(승인됨 + 미완료 주문) 메모리 프로젝션
+ *
+ * - 매장별로 처음 조회될 때 DB에서 한 번 읽어 만들고, 이후에는 승인/완료/취소 시점에 직접 갱신합니다.
+ * - 현황판 조회는 SQL 없이 메모리에서 처리됩니다.
+ * - 주기적으로 DB의 주문 ID 목록과 비교해서 어긋난 매장은 다시 만듭니다.
+ * - DB에서 읽는 동안(처음 로드, 재구성) 들어온 승인/완료는 기록해 두었다가 읽은 결과에 다시 반영한 뒤 설치합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderBoardProjection {
+
+    private final OrderGroupRepository orderGroupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // storeId -> (orderGroupId -> 현황판 항목), 주문 ID 순 정렬
+    private final ConcurrentMap<Long, ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry>> boards =
+            new ConcurrentHashMap<>();
+
+    // storeId -> DB에서 읽는 중인 동안 들어온 변경 (this 로 보호)
+    private final Map<Long, Loading> loading = new HashMap<>();
+
+    // 현재 현황판 (처음 조회 시에만 DB 접근)
+    @Transactional(readOnly = true)
+    public List<OrderGroupBatchMessage.OrderGroupEntry> getBoard(Long storeId) {
+        return new ArrayList<>(boardOf(storeId).values());
+    }
+
+    // 결제 승인된 주문 추가
+    public void orderApproved(Long storeId, OrderGroupBatchMessage.OrderGroupEntry entry) {
+        change(storeId, entry.getOrderGroupId(), entry);
+    }
+
+    // 조리 완료 또는 취소된 주문 제거
+    public void orderRemoved(Long storeId, Long orderGroupId) {
+        change(storeId, orderGroupId, null);
+    }
+
+    // 다른 노드에서 변경된 매장은 메모리 현황판을 버리고 다음 조회 때 DB에서 다시 읽음
+    public synchronized void evict(Long storeId) {
+        boards.remove(storeId);
+        Loading current = loading.get(storeId);
+        if (current != null) {
+            current.evicted = true; // 읽는 중인 결과는 그 변경 전일 수 있으므로 설치하지 않음
+        }
+    }
+
+    // 주문 그룹 하나를 현황판 항목으로 변환 (항목/쿠폰명을 쿼리 한 번으로 조회)
+    @Transactional(readOnly = true)
+    public OrderGroupBatchMessage.OrderGroupEntry toEntry(OrderGroup group) {
+        List<OrderBoardLineDto> lines = orderGroupRepository.findBoardLinesByOrderGroupId(group.getId());
+        return toEntries(lines).getOrDefault(group.getId(), OrderGroupBatchMessage.OrderGroupEntry.builder()
+                .orderGroupId(group.getId())
+                .items(List.of())
+                .build());
+    }
+
+    // DB에서 다시 읽어 교체
+    @Transactional(readOnly = true)
+    public void rebuild(Long storeId) {
+        load(storeId, true);
+        log.info("주문 현황판 프로젝션 재구성 - storeId: {}", storeId);
+    }
+
+    /**
+     * 메모리 현황판과 DB의 주문 ID 목록 비교
+     * 어긋난 매장은 다시 만들고, 구독 중인 클라이언트가 스냅샷을 다시 받을 수 있도록 이벤트를 발행합니다.
+     */
+    @Scheduled(fixedDelayString = "${order.board.consistency-check-ms:60000}")
+    @Transactional(readOnly = true)
+    public void verifyConsistency() {
+        for (Long storeId : boards.keySet()) {
+            try {
+                Set<Long> dbIds = new HashSet<>(orderGroupRepository.findOpenBoardOrderGroupIds(storeId));
+                Set<Long> memoryIds = new HashSet<>(boards.get(storeId).keySet());
+
+                if (!dbIds.equals(memoryIds)) {
+                    log.warn("주문 현황판 불일치 감지 - storeId: {}, DB: {}건, 메모리: {}건", storeId, dbIds.size(), memoryIds.size());
+                    rebuild(storeId);
+                    eventPublisher.publishEvent(new OrderBoardResyncEvent(this, storeId));
+                }
+            } catch (Exception e) {
+                log.error("주문 현황판 정합성 검사 실패 - storeId: {}", storeId, e);
+            }
+        }
+    }
+
+    private ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry> boardOf(Long storeId) {
+        ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry> board = boards.get(storeId);
+        return board != null ? board : load(storeId, false);
+    }
+
+    // 로드된 현황판에 바로 반영하고, DB에서 읽는 중이면 기록해 두었다가 설치 전에 다시 반영
+    private synchronized void change(Long storeId, Long orderGroupId, OrderGroupBatchMessage.OrderGroupEntry entry) {
+        Loading current = loading.get(storeId);
+        if (current != null) {
+            current.updates.put(orderGroupId, entry);
+        }
+        // 아직 로드되지 않은 매장은 다음 조회 시 DB에서 통째로 읽으므로 기록만
+        ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry> board = boards.get(storeId);
+        if (board == null) {
+            return;
+        }
+        if (entry != null) {
+            board.put(orderGroupId, entry);
+        } else {
+            board.remove(orderGroupId);
+        }
+    }
+
+    /**
+     * DB 조회는 잠금 밖에서 하고, 그동안 들어온 변경을 다시 반영한 뒤 설치
+     * replace 가 false 면 그 사이 다른 스레드가 먼저 설치한 현황판을 그대로 사용
+     */
+    private ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry> load(Long storeId, boolean replace) {
+        Loading current;
+        synchronized (this) {
+            current = loading.computeIfAbsent(storeId, id -> new Loading());
+            current.loaders++;
+        }
+
+        ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry> loaded = null;
+        try {
+            loaded = loadFromDb(storeId);
+        } finally {
+            synchronized (this) {
+                if (--current.loaders == 0) {
+                    loading.remove(storeId);
+                }
+                if (loaded != null) {
+                    for (Map.Entry<Long, OrderGroupBatchMessage.OrderGroupEntry> update : current.updates.entrySet()) {
+                        if (update.getValue() != null) {
+                            loaded.put(update.getKey(), update.getValue());
+                        } else {
+                            loaded.remove(update.getKey());
+                        }
+                    }
+                    if (!current.evicted) {
+                        ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry> existing = boards.get(storeId);
+                        if (replace || existing == null) {
+                            boards.put(storeId, loaded);
+                        } else {
+                            loaded = existing;
+                        }
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private ConcurrentSkipListMap<Long, OrderGroupBatchMessage.OrderGroupEntry> loadFromDb(Long storeId) {
+        return new ConcurrentSkipListMap<>(toEntries(orderGroupRepository.findOpenBoardLines(storeId)));
+    }
+
+    // 주문 그룹 ID 순으로 정렬된 조회 결과를 그룹별 항목으로 묶음
+    private Map<Long, OrderGroupBatchMessage.OrderGroupEntry> toEntries(List<OrderBoardLineDto> lines) {
+        Map<Long, List<OrderGroupBatchMessage.OrderItem>> itemsByGroup = new LinkedHashMap<>();
+        for (OrderBoardLineDto line : lines) {
+            List<OrderGroupBatchMessage.OrderItem> items =
+                    itemsByGroup.computeIfAbsent(line.getOrderGroupId(), id -> new ArrayList<>());
+            if (line.getOrderDetails() != null) {
+                items.add(toItem(line));
+            }
+        }
+
+        Map<Long, OrderGroupBatchMessage.OrderGroupEntry> entries = new LinkedHashMap<>();
+        itemsByGroup.forEach((orderGroupId, items) -> entries.put(orderGroupId,
+                OrderGroupBatchMessage.OrderGroupEntry.builder()
+                        .orderGroupId(orderGroupId)
+                        .items(items)
+                        .build()));
+        return entries;
+    }
+
+    private OrderGroupBatchMessage.OrderItem toItem(OrderBoardLineDto line) {
+        return OrderGroupBatchMessage.OrderItem.builder()
+                .menuName(convertMenuName(line))
+                .price(line.getOrderPrice().intValue())
+                .quantity(line.getOrderAmount().intValue())
+                .build();
+    }
+
+    private String convertMenuName(OrderBoardLineDto line) {
+        OrderLineType lineType = line.getLineType() != null ? line.getLineType() : OrderLineType.of(line.getOrderDetails());
+        return switch (lineType) {
+            case POINT -> "포인트 사용";
+            case COUPON -> line.getCouponName() != null ? "[쿠폰] " + line.getCouponName() : "쿠폰 사용";
+            case MENU -> line.getOrderDetails();
+        };
+    }
+
+    private static class Loading {
+        private int loaders;
+        private boolean evicted;
+        // orderGroupId -> 항목 (null 이면 제거), 들어온 순서대로 다시 반영
+        private final Map<Long, OrderGroupBatchMessage.OrderGroupEntry> updates = new LinkedHashMap<>();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MenuRecommendationHistoryRepository extends JpaRepository<MenuRecommendationHistory, Long> {
@@ -22,6 +23,13 @@ public interface MenuRecommendationHistoryRepository extends JpaRepository<MenuR
     // 매장별 전체 히스토리 조회
     List<MenuRecommendationHistory> findByStoreOrderByCreatedAtDesc(Store store);
 
+    // 매장별 가장 최근 추천 (시간대와 상관없이)
+    @Query(value = "SELECT * FROM menu_recommendation_history m " +
+           "WHERE m.store_id = :storeId " +
+           "ORDER BY m.created_at DESC " +
+           "LIMIT 1", nativeQuery = true)
+    Optional<MenuRecommendationHistory> findLatestByStoreId(@Param("storeId") Long storeId);
+
     // 매장별 히스토리 삭제
     @Modifying
     @Query("DELETE FROM MenuRecommendationHistory m WHERE m.store.storeId = :storeId")
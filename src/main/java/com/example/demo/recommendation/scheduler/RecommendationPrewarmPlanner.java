@@ -0,0 +1,261 @@
+package com.example.demo.recommendation.scheduler;
+
+import com.example.demo.external.weather.dto.WeatherForecastResponse;
+import com.example.demo.external.weather.dto.WeatherResponse;
+import com.example.demo.external.weather.service.WeatherApiService;
+import com.example.demo.external.weather.service.WeatherCache;
+import com.example.demo.recommendation.dto.MenuRecommendationResponse;
+import com.example.demo.recommendation.enums.WeatherType;
+import com.example.demo.recommendation.service.MenuRecommendationService;
+import com.example.demo.recommendation.service.RecommendationCacheService;
+import com.example.demo.store.repository.StoreLocationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 점심/저녁 피크 전 추천 미리 생성
+ *
+ * cron 시각(피크 lead-minutes 전)에 날씨 칸마다 5일 예보를 한 번씩 읽어 피크 시각의 날씨를 예상하고,
+ * 매장의 가장 최근 추천(시간대와 상관없이)과 비교해 AI 호출이 꼭 필요한 매장만 미리 만들어 둡니다.
+ * - 예상 날씨 유형이 같고 reuse-max-age-hours 안에 만든 추천이면 AI 호출 없이 피크 시간대 캐시 키로 복사
+ * - 예상 날씨 유형이 다른 매장을 먼저, 같지만 너무 오래된 추천인 매장을 다음으로 새로 생성
+ * - 추천을 한 번도 만든 적 없는 매장은 제외 (사용하지 않는 매장에 AI 호출을 쓰지 않도록)
+ * - 생성은 지금부터 피크 finish-before-minutes 전까지 고르게 나눠서 한 번에 하나씩, 최대 max-calls 건
+ * - 만든 추천은 피크 시간대 캐시 키에 저장되어 피크 때 바로 조회됨
+ * - 여러 노드가 떠 있어도 피크마다 한 노드만 계획 (Redis 잠금)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "recommendation.prewarm.enabled", havingValue = "true", matchIfMissing = true)
+public class RecommendationPrewarmPlanner {
+
+    private static final String LOCK_PREFIX = "recommendation:prewarm:";
+
+    private final MenuRecommendationService recommendationService;
+    private final RecommendationCacheService cacheService;
+    private final StoreLocationRepository storeLocationRepository;
+    private final WeatherApiService weatherApiService;
+    private final WeatherCache weatherCache;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${recommendation.prewarm.zone:Asia/Seoul}")
+    private String zone;
+
+    @Value("${recommendation.prewarm.lead-minutes:90}")
+    private long leadMinutes;
+
+    @Value("${recommendation.prewarm.finish-before-minutes:10}")
+    private long finishBeforeMinutes;
+
+    @Value("${recommendation.prewarm.max-calls:200}")
+    private int maxCalls;
+
+    @Value("${recommendation.prewarm.forecast-timeout-seconds:10}")
+    private long forecastTimeoutSeconds;
+
+    @Value("${recommendation.prewarm.reuse-max-age-hours:24}")
+    private long reuseMaxAgeHours;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final List<ScheduledFuture<?>> pending = new ArrayList<>();
+
+    private final LongAdder planned = new LongAdder();
+    private final LongAdder weatherChanged = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder prewarmed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder forecastFailures = new LongAdder();
+
+    // 기본값: 09:30 에 11:00 점심 피크, 15:30 에 17:00 저녁 피크 준비 (zone 기준)
+    @Scheduled(cron = "${recommendation.prewarm.cron:0 30 9,15 * * *}", zone = "${recommendation.prewarm.zone:Asia/Seoul}")
+    public void plan() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of(zone));
+        ZonedDateTime peak = now.plusMinutes(leadMinutes).truncatedTo(ChronoUnit.HOURS);
+        // 추천 캐시 키는 서버 시간 기준
+        LocalDateTime peakAt = peak.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_PREFIX + peakAt, "true", Duration.ofMinutes(leadMinutes));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("추천 미리 생성 - 다른 노드에서 계획함, 피크: {}", peakAt);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Task> tasks = selectTasks(peakAt, peak.toEpochSecond());
+        schedule(tasks, peakAt);
+        log.info("추천 미리 생성 계획 - 피크: {}, 대상: {}개, {}ms, {}",
+                peakAt, tasks.size(), System.currentTimeMillis() - start, getStats());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("planned", planned.sum());
+        stats.put("weatherChanged", weatherChanged.sum());
+        stats.put("stale", stale.sum());
+        stats.put("reused", reused.sum());
+        stats.put("prewarmed", prewarmed.sum());
+        stats.put("skipped", skipped.sum());
+        stats.put("failures", failures.sum());
+        stats.put("forecastFailures", forecastFailures.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 날씨 칸별로 예보를 한 번씩 읽고, 최근 추천을 그대로 쓸 수 있으면 복사, 아니면 생성 대상으로 고름 (날씨가 바뀌는 매장 먼저)
+    private List<Task> selectTasks(LocalDateTime peakAt, long peakEpochSecond) {
+        Map<WeatherCache.Cell, List<Long>> storesByCell = new HashMap<>();
+        for (Object[] row : storeLocationRepository.findAllCoordinates()) {
+            WeatherCache.Cell cell = weatherCache.cellOf((Double) row[1], (Double) row[2]);
+            storesByCell.computeIfAbsent(cell, key -> new ArrayList<>()).add(((Number) row[0]).longValue());
+        }
+
+        List<Task> changed = new ArrayList<>();
+        List<Task> outdated = new ArrayList<>();
+        LocalDateTime reusableAfter = LocalDateTime.now().minusHours(reuseMaxAgeHours);
+        for (Map.Entry<WeatherCache.Cell, List<Long>> entry : storesByCell.entrySet()) {
+            Map<Long, MenuRecommendationResponse> latestByStore = new HashMap<>();
+            for (Long storeId : entry.getValue()) {
+                if (cacheService.hasCachedRecommendation(storeId, peakAt)) {
+                    continue; // 이미 피크 시간대 캐시가 있음
+                }
+                Optional<MenuRecommendationResponse> latest = cacheService.findLatestRecommendation(storeId);
+                latest.ifPresent(response -> latestByStore.put(storeId, response));
+            }
+            if (latestByStore.isEmpty()) {
+                continue; // 예보를 읽을 필요 없음
+            }
+
+            WeatherResponse expected = expectedWeather(entry.getKey(), peakEpochSecond);
+            WeatherType expectedType = weatherApiService.determineWeatherType(expected);
+            for (Map.Entry<Long, MenuRecommendationResponse> latest : latestByStore.entrySet()) {
+                MenuRecommendationResponse response = latest.getValue();
+                Task task = new Task(latest.getKey(), expected);
+                if (response.getWeatherInfo() == null || response.getWeatherInfo().getWeatherType() != expectedType) {
+                    changed.add(task);
+                } else if (response.getGeneratedAt() == null || !response.getGeneratedAt().isAfter(reusableAfter)) {
+                    outdated.add(task);
+                } else {
+                    cacheService.reuseRecommendation(response, peakAt);
+                    reused.increment();
+                }
+            }
+        }
+
+        int changedCount = Math.min(changed.size(), maxCalls);
+        int outdatedCount = Math.min(outdated.size(), maxCalls - changedCount);
+        weatherChanged.add(changedCount);
+        stale.add(outdatedCount);
+        if (changed.size() + outdated.size() > maxCalls) {
+            log.warn("추천 미리 생성 대상이 한도를 넘음 - 날씨 변경: {}개, 오래된 추천: {}개, 한도: {}건",
+                    changed.size(), outdated.size(), maxCalls);
+        }
+
+        List<Task> tasks = new ArrayList<>(changed.subList(0, changedCount));
+        tasks.addAll(outdated.subList(0, outdatedCount));
+        return tasks;
+    }
+
+    // 피크 시각과 가장 가까운 예보 (예보를 못 읽으면 현재 날씨)
+    private WeatherResponse expectedWeather(WeatherCache.Cell cell, long peakEpochSecond) {
+        try {
+            WeatherForecastResponse forecast = weatherApiService.getForecast(cell.getLatitude(), cell.getLongitude())
+                    .block(Duration.ofSeconds(forecastTimeoutSeconds));
+            WeatherForecastResponse.ForecastItem nearest = null;
+            if (forecast != null && forecast.getList() != null) {
+                for (WeatherForecastResponse.ForecastItem item : forecast.getList()) {
+                    if (item.getMain() == null || item.getWeather() == null || item.getWeather().isEmpty()) {
+                        continue;
+                    }
+                    if (nearest == null || Math.abs(item.getDt() - peakEpochSecond) < Math.abs(nearest.getDt() - peakEpochSecond)) {
+                        nearest = item;
+                    }
+                }
+            }
+            if (nearest == null) {
+                throw new IllegalStateException("예보 응답이 비어 있습니다.");
+            }
+            return WeatherResponse.builder()
+                    .main(nearest.getMain())
+                    .weather(nearest.getWeather())
+                    .name(forecast.getCity() != null ? forecast.getCity().getName() : null)
+                    .build();
+        } catch (RuntimeException e) {
+            forecastFailures.increment();
+            log.warn("예보 조회 실패, 현재 날씨로 판단 - 칸: {}, {}", cell.getKey(), e.getMessage());
+            return weatherCache.getCurrentWeather(cell.getLatitude(), cell.getLongitude());
+        }
+    }
+
+    // 지금부터 피크 finish-before-minutes 전까지 같은 간격으로 하나씩 실행
+    private synchronized void schedule(List<Task> tasks, LocalDateTime peakAt) {
+        pending.forEach(future -> future.cancel(false)); // 지난 피크에서 남은 작업
+        pending.clear();
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime deadline = peakAt.minusMinutes(finishBeforeMinutes);
+        long windowMs = Math.max(0, Duration.between(LocalDateTime.now(), deadline).toMillis());
+        long intervalMs = windowMs / tasks.size();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            pending.add(executor.schedule(() -> run(task, peakAt), i * intervalMs, TimeUnit.MILLISECONDS));
+        }
+        planned.add(tasks.size());
+    }
+
+    private void run(Task task, LocalDateTime peakAt) {
+        if (!LocalDateTime.now().isBefore(peakAt) || cacheService.hasCachedRecommendation(task.storeId, peakAt)) {
+            skipped.increment(); // 피크가 지났거나 그 사이 다른 요청이 이미 만듦
+            return;
+        }
+        try {
+            recommendationService.prewarmRecommendation(task.storeId, task.expectedWeather, peakAt);
+            prewarmed.increment();
+        } catch (Exception e) {
+            failures.increment();
+            log.error("추천 미리 생성 실패 - storeId: {}", task.storeId, e);
+        }
+    }
+
+    private static class Task {
+        private final Long storeId;
+        private final WeatherResponse expectedWeather;
+
+        private Task(Long storeId, WeatherResponse expectedWeather) {
+            this.storeId = storeId;
+            this.expectedWeather = expectedWeather;
+        }
+    }
+}
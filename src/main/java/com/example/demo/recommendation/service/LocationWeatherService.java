@@ -1,6 +1,7 @@
 package com.example.demo.recommendation.service;
 
 import com.example.demo.external.weather.service.WeatherApiService;
+import com.example.demo.external.weather.service.WeatherCache;
 import com.example.demo.external.weather.dto.WeatherResponse;
 import com.example.demo.recommendation.dto.StoreWeatherInfo;
 import com.example.demo.recommendation.enums.SeasonType;
@@ -18,19 +19,25 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class LocationWeatherService {
     private final WeatherApiService weatherApiService;
+    private final WeatherCache weatherCache;
     private final StoreLocationRepository storeLocationRepository;
     private final StoreRepository storeRepository;
 
     // StoreLocation을 이용한 날씨 조회
     public StoreWeatherInfo getStoreWeatherInfo(Long storeId) {
+        return getStoreWeatherInfo(storeId, null);
+    }
+
+    // 예보 날씨로 매장 날씨 정보 생성 (expectedWeather 가 null 이면 현재 날씨)
+    public StoreWeatherInfo getStoreWeatherInfo(Long storeId, WeatherResponse expectedWeather) {
         Store store = findStore(storeId);
         StoreLocation location = findStoreLocation(store);
 
-        // 위도/경도로 날씨 조회
-        WeatherResponse weather = weatherApiService.getCurrentWeather(
+        // 위도/경도로 날씨 조회 (근처 매장과 같은 칸이면 캐시된 값 사용)
+        WeatherResponse weather = expectedWeather != null ? expectedWeather : weatherCache.getCurrentWeather(
             location.getLatitude(),
             location.getLongitude()
-        ).block();
+        );
 
         return StoreWeatherInfo.builder()
             .storeId(store.getStoreId())
@@ -1,6 +1,7 @@
 package com.example.demo.recommendation.service;
 
 import com.example.demo.external.gemini.service.GeminiApiService;
+import com.example.demo.external.weather.dto.WeatherResponse;
 import com.example.demo.recommendation.dto.MenuRecommendationResponse;
 import com.example.demo.recommendation.dto.RecommendationHistoryResponse;
 import com.example.demo.recommendation.dto.StoreWeatherInfo;
@@ -112,6 +113,25 @@ public class MenuRecommendationService {
         // 2. StoreLocation 기반 날씨 정보 수집
         StoreWeatherInfo weatherInfo = locationWeatherService.getStoreWeatherInfo(storeId);
 
+        MenuRecommendationResponse response = buildRecommendation(storeId, weatherInfo, LocalTime.now());
+
+        // 8. 캐시 저장
+        cacheService.saveRecommendation(response);
+
+        return response;
+    }
+
+    // 피크 시간 전 미리 생성 (예보 날씨 기준으로 만들고 피크 시간대 캐시에 저장)
+    public MenuRecommendationResponse prewarmRecommendation(Long storeId, WeatherResponse expectedWeather, LocalDateTime peakAt) {
+        log.info("Prewarming recommendation for store: {}, peak: {}", storeId, peakAt);
+        StoreWeatherInfo weatherInfo = locationWeatherService.getStoreWeatherInfo(storeId, expectedWeather);
+
+        MenuRecommendationResponse response = buildRecommendation(storeId, weatherInfo, peakAt.toLocalTime());
+        cacheService.saveRecommendation(response, peakAt);
+        return response;
+    }
+
+    private MenuRecommendationResponse buildRecommendation(Long storeId, StoreWeatherInfo weatherInfo, LocalTime time) {
         // 3. 리뷰 분석
         List<MenuAnalysisResult> menuAnalysis = reviewAnalyzer.analyzeRecentReviews(storeId);
 
@@ -158,7 +178,7 @@ public class MenuRecommendationService {
                 weatherInfo.getSeason(),
                 weatherInfo.getTemperature(),
                 weatherInfo.getHumidity(),
-                LocalTime.now(),
+                time,
                 weatherInfo.getWeatherSummary(),
                 null, // businessType - 필요시 Store 엔티티에서 추출 가능
                 null  // ageGroup - 필요시 리뷰 분석에서 추출 가능
@@ -168,7 +188,7 @@ public class MenuRecommendationService {
         String aiAdvice = generateAIAdvice(weatherInfo, menuAnalysis, suggestedCategories);
 
         // 7. 응답 생성
-        MenuRecommendationResponse response = MenuRecommendationResponse.builder()
+        return MenuRecommendationResponse.builder()
                 .storeId(storeId)
                 .weatherInfo(weatherInfo)
                 .menuAnalysis(menuAnalysis)
@@ -177,11 +197,6 @@ public class MenuRecommendationService {
                 .generatedAt(LocalDateTime.now())
                 .fromCache(false)
                 .build();
-
-        // 8. 캐시 저장
-        cacheService.saveRecommendation(response);
-
-        return response;
     }
 
     private String generateAIAdvice(StoreWeatherInfo weatherInfo,
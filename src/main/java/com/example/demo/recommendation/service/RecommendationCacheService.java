@@ -52,11 +52,17 @@ public class RecommendationCacheService {
     }
 
     public void saveRecommendation(MenuRecommendationResponse response) {
-        String cacheKey = generateCacheKey(response.getStoreId());
-        LocalDateTime expiredAt = LocalDateTime.now().plusSeconds(cacheDuration);
+        saveRecommendation(response, LocalDateTime.now());
+    }
+
+    // keyTime 시간대의 캐시로 저장 (피크 시간 전에 미리 만든 추천은 피크 시각 기준으로 저장)
+    public void saveRecommendation(MenuRecommendationResponse response, LocalDateTime keyTime) {
+        String cacheKey = generateCacheKey(response.getStoreId(), keyTime);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiredAt = (keyTime.isAfter(now) ? keyTime : now).plusSeconds(cacheDuration);
         try {
             String jsonValue = objectMapper.writeValueAsString(response);
-            redisTemplate.opsForValue().set(cacheKey, jsonValue, Duration.ofSeconds(cacheDuration));
+            redisTemplate.opsForValue().set(cacheKey, jsonValue, Duration.between(now, expiredAt));
 
             // Store 엔티티를 직접 조회
             Store store = storeRepository.findById(response.getStoreId())
@@ -182,9 +188,42 @@ public class RecommendationCacheService {
         return aiAdvice.trim().replaceAll("\\s+", " ");
     }
 
-    private String generateCacheKey(Long storeId) {
+    // 시간대와 상관없이 매장의 가장 최근 추천 (미리 생성 대상 판단용)
+    public Optional<MenuRecommendationResponse> findLatestRecommendation(Long storeId) {
+        return historyRepository.findLatestByStoreId(storeId)
+            .map(history -> {
+                try {
+                    return objectMapper.readValue(history.getGptRecommendation(), MenuRecommendationResponse.class);
+                } catch (Exception e) {
+                    log.warn("History parsing error for id: {}", history.getId(), e);
+                    return null;
+                }
+            });
+    }
+
+    // 이미 만든 추천을 keyTime 시간대 캐시로만 다시 저장 (AI 호출/히스토리 없이)
+    public void reuseRecommendation(MenuRecommendationResponse response, LocalDateTime keyTime) {
+        String cacheKey = generateCacheKey(response.getStoreId(), keyTime);
         LocalDateTime now = LocalDateTime.now();
-        return String.format("menu_recommendation:%d:%d:%d", storeId, now.getDayOfYear(), now.getHour());
+        LocalDateTime expiredAt = (keyTime.isAfter(now) ? keyTime : now).plusSeconds(cacheDuration);
+        try {
+            redisTemplate.opsForValue().set(cacheKey, objectMapper.writeValueAsString(response), Duration.between(now, expiredAt));
+        } catch (Exception e) {
+            log.error("Cache reuse error for store: {}", response.getStoreId(), e);
+        }
+    }
+
+    // 해당 시간대 캐시가 이미 있는지 (미리 생성 중복 방지)
+    public boolean hasCachedRecommendation(Long storeId, LocalDateTime keyTime) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(generateCacheKey(storeId, keyTime)));
+    }
+
+    private String generateCacheKey(Long storeId) {
+        return generateCacheKey(storeId, LocalDateTime.now());
+    }
+
+    private String generateCacheKey(Long storeId, LocalDateTime time) {
+        return String.format("menu_recommendation:%d:%d:%d", storeId, time.getDayOfYear(), time.getHour());
     }
 
     private MenuRecommendationResponse convertToResponse(MenuRecommendationCache cache) {
@@ -0,0 +1,57 @@
+package com.example.demo.setting.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 테이블 기반 ID 생성기(id_generator) 초기값 보정
+ * IDENTITY로 쌓인 기존 데이터와 ID가 겹치지 않도록, 시작 시 각 생성기 값을 현재 최대 ID + 할당 크기 이상으로 맞춥니다.
+ * 웹 서버가 요청을 받기 전에 끝나야 하므로 ApplicationRunner 가 아니라 싱글톤 생성 직후(컨텍스트 refresh 중)에 실행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorSeeder implements SmartInitializingSingleton {
+
+    // 엔티티의 @TableGenerator allocationSize 와 같은 값
+    private static final int ALLOCATION_SIZE = 50;
+
+    // gen_name -> 대상 테이블
+    private static final Map<String, String> GENERATORS = Map.of(
+            "order_group", "order_group",
+            "customer_statistics", "customer_statistics"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS id_generator ("
+                + "gen_name VARCHAR(255) NOT NULL PRIMARY KEY, gen_value BIGINT)");
+
+        GENERATORS.forEach((genName, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long floor = (maxId != null ? maxId : 0L) + ALLOCATION_SIZE + 1;
+
+            int updated = jdbcTemplate.update(
+                    "UPDATE id_generator SET gen_value = ? WHERE gen_name = ? AND gen_value < ?",
+                    floor, genName, floor);
+            if (updated == 0) {
+                Integer exists = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM id_generator WHERE gen_name = ?", Integer.class, genName);
+                if (exists == null || exists == 0) {
+                    jdbcTemplate.update("INSERT INTO id_generator (gen_name, gen_value) VALUES (?, ?)", genName, floor);
+                    updated = 1;
+                }
+            }
+            if (updated > 0) {
+                log.info("ID 생성기 보정 - {}: {}", genName, floor);
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.setting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate JDBC 배치 설정 (쓰기 배치 + 지연 로딩 배치 조회)
+ * MySQL은 datasource url에 rewriteBatchedStatements=true 를 붙여야 배치가 multi-row insert로 전송됩니다.
+ */
+@Configuration
+public class JpaBatchConfig {
+
+    @Value("${jpa.batch.size:50}")
+    private int batchSize;
+
+    // 지연 로딩 컬렉션(쿠폰 적용 카테고리 등)을 IN 쿼리로 묶어서 조회
+    @Value("${jpa.batch.fetch-size:100}")
+    private int fetchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+            properties.putIfAbsent("hibernate.default_batch_fetch_size", fetchSize);
+        };
+    }
+}
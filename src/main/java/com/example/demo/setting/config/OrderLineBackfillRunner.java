@@ -0,0 +1,93 @@
+package com.example.demo.setting.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 주문 항목(customer_statistics) 종류/메뉴/쿠폰 컬럼 백필
+ * 끝나면 data_migration 에 완료 표시를 남기고, 이후 기동에서는 아무것도 하지 않습니다.
+ * line_type 이 비어 있는 행이 남으면 통계 조회(storeMenu 조인)에서 빠지므로 실패하면 기동을 멈춥니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderLineBackfillRunner implements ApplicationRunner {
+
+    private static final String MIGRATION_NAME = "order_line_backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS data_migration ("
+                + "name VARCHAR(100) NOT NULL PRIMARY KEY, completed_at DATETIME NOT NULL)");
+
+        Integer done = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM data_migration WHERE name = ?", Integer.class, MIGRATION_NAME);
+        if (done != null && done > 0) {
+            return;
+        }
+
+        dropLegacyMenuUniqueIndex();
+
+        int point = jdbcTemplate.update(
+                "UPDATE customer_statistics SET line_type = 'POINT' "
+                        + "WHERE line_type IS NULL AND order_details = 'UserPointUsedOrNotUsed'");
+
+        int coupon = jdbcTemplate.update(
+                "UPDATE customer_statistics SET line_type = 'COUPON', coupon_uuid = TRIM(SUBSTRING(order_details, 12)) "
+                        + "WHERE line_type IS NULL AND order_details LIKE 'CouponUsed:%'");
+
+        // 같은 매장의 같은 이름 메뉴에 연결 (이미 삭제/이름 변경된 메뉴는 menu_id 없이 MENU로만 표시)
+        int linked = jdbcTemplate.update(
+                "UPDATE customer_statistics s JOIN store_menu m "
+                        + "ON m.store_id = s.store_id AND m.menu_name = s.order_details "
+                        + "SET s.menu_id = m.menu_id, s.line_type = 'MENU' "
+                        + "WHERE s.line_type IS NULL");
+
+        int unlinked = jdbcTemplate.update(
+                "UPDATE customer_statistics SET line_type = 'MENU' WHERE line_type IS NULL");
+
+        Long remaining = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM customer_statistics WHERE line_type IS NULL", Long.class);
+        if (remaining != null && remaining > 0) {
+            throw new IllegalStateException("주문 항목 백필 후에도 line_type 이 비어 있는 행이 남아 있습니다: " + remaining);
+        }
+
+        // 여러 서버가 동시에 기동해도 표시는 한 번만
+        jdbcTemplate.update("INSERT IGNORE INTO data_migration (name, completed_at) VALUES (?, NOW())", MIGRATION_NAME);
+        log.info("주문 항목 백필 완료 - 포인트: {}, 쿠폰: {}, 메뉴 연결: {}, 메뉴 미연결: {}", point, coupon, linked, unlinked);
+    }
+
+    // menu_id 가 @OneToOne 이던 시절 생성된 unique 인덱스 제거 (같은 메뉴가 여러 주문에 들어갈 수 있어야 함)
+    private void dropLegacyMenuUniqueIndex() {
+        for (String index : legacyMenuUniqueIndexes()) {
+            try {
+                jdbcTemplate.execute("ALTER TABLE customer_statistics DROP INDEX `" + index + "`");
+                log.info("customer_statistics.menu_id unique 인덱스 제거: {}", index);
+            } catch (Exception e) {
+                // 다른 서버가 먼저 지웠을 수 있으므로 아래에서 남아 있는지만 다시 확인
+                log.warn("customer_statistics.menu_id unique 인덱스 제거 실패: {} - {}", index, e.getMessage());
+            }
+        }
+
+        List<String> remaining = legacyMenuUniqueIndexes();
+        if (!remaining.isEmpty()) {
+            throw new IllegalStateException("customer_statistics.menu_id unique 인덱스를 제거하지 못했습니다: " + remaining);
+        }
+    }
+
+    private List<String> legacyMenuUniqueIndexes() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT index_name FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'customer_statistics' "
+                        + "AND column_name = 'menu_id' AND non_unique = 0",
+                String.class);
+    }
+}
@@ -27,6 +27,7 @@ public enum ErrorCode {
     COUPON_NOT_YET_AVAILABLE("U005", "아직 쿠폰을 발급받을 수 없습니다."),
     COUPON_DUPLICATE("U006", "이미 발급받은 쿠폰입니다."),
     CUSTOMER_COUPON_NOT_FOUND("U007", "해당 UUID의 쿠폰을 찾을 수 없습니다."),
+    COUPON_ISSUE_PAUSED("U008", "쿠폰 일괄 발급 중입니다. 잠시 후 다시 시도해주세요."),
 
     //비밀번호
     PASSWORD_EXCEPTION("USER001", "비밀번호가 일치하지 않습니다."),
@@ -0,0 +1,137 @@
+package com.example.demo.setting.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이머 휠
+ *
+ * 가장 아래 단계는 tickMs 간격의 칸으로 나뉘고, 위 단계의 한 칸은 아래 단계 한 바퀴 길이입니다.
+ * 작업은 마감 시각까지 남은 시간에 맞는 단계의 칸에 들어가고, 위 단계의 칸 시각이 되면
+ * 그 칸의 작업을 아래 단계로 다시 나눠 담습니다. (추가/만료 모두 작업 수와 무관하게 상수 시간)
+ *
+ * 가장 위 단계 범위를 넘는 작업은 따로 보관했다가 위 단계가 한 칸 넘어갈 때마다 다시 배치합니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 합니다.
+ */
+public class HierarchicalTimerWheel<T> {
+
+    private final long tickMs;
+    private final int[] sizes;          // 단계별 칸 수
+    private final long[] slotTicks;     // 단계별 한 칸의 tick 수
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimerWheel(long tickMs, long startMs, int... sizes) {
+        this.tickMs = tickMs;
+        this.sizes = sizes;
+        this.slotTicks = new long[sizes.length];
+        this.currentTick = startMs / tickMs;
+
+        long ticks = 1;
+        for (int level = 0; level < sizes.length; level++) {
+            slotTicks[level] = ticks;
+            ticks *= sizes[level];
+
+            List<Entry<T>>[] buckets = new List[sizes[level]];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+            levels.add(buckets);
+        }
+    }
+
+    /**
+     * 작업 추가
+     * @return 이미 마감 시각이 지났으면 false (호출하는 쪽에서 바로 실행)
+     */
+    public boolean add(long deadlineMs, T task) {
+        // 올림해서 마감 시각보다 일찍 꺼내지지 않도록 함
+        long deadlineTick = (deadlineMs + tickMs - 1) / tickMs;
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(new Entry<>(deadlineTick, task));
+        size++;
+        return true;
+    }
+
+    /**
+     * nowMs 까지 시간을 진행시키고, 마감된 작업을 반환합니다.
+     */
+    public List<T> advanceTo(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<T> due = new ArrayList<>();
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // 위 단계부터 칸 경계에 도달한 칸을 아래 단계로 내림
+            for (int level = sizes.length - 1; level >= 1; level--) {
+                if (currentTick % slotTicks[level] != 0) {
+                    continue;
+                }
+                if (level == sizes.length - 1) {
+                    cascade(overflow, due);
+                }
+                List<Entry<T>> bucket = levels.get(level)[bucketIndex(level, currentTick)];
+                cascade(bucket, due);
+            }
+
+            List<Entry<T>> bucket = levels.get(0)[bucketIndex(0, currentTick)];
+            for (Entry<T> entry : bucket) {
+                due.add(entry.task);
+            }
+            size -= bucket.size();
+            bucket.clear();
+        }
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(List<Entry<T>> bucket, List<T> due) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<T> entry : entries) {
+            if (entry.deadlineTick <= currentTick) {
+                due.add(entry.task);
+                size--;
+            } else {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delay = entry.deadlineTick - currentTick;
+        for (int level = 0; level < sizes.length; level++) {
+            if (delay < slotTicks[level] * sizes[level]) {
+                levels.get(level)[bucketIndex(level, entry.deadlineTick)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private int bucketIndex(int level, long tick) {
+        return (int) ((tick / slotTicks[level]) % sizes[level]);
+    }
+
+    private static class Entry<T> {
+        private final long deadlineTick;
+        private final T task;
+
+        private Entry(long deadlineTick, T task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.setting.webSock;
+
+/**
+ * STOMP 브로커 구성 방식 (websocket.broker.mode)
+ * SIMPLE : 노드 내장 브로커 (단일 노드 전용)
+ * RELAY  : 외부 STOMP 브로커(ActiveMQ 등)로 중계
+ * REDIS  : 내장 브로커 + Redis pub/sub으로 모든 노드에 전달
+ */
+public enum BrokerMode {
+    SIMPLE,
+    RELAY,
+    REDIS;
+
+    public static BrokerMode from(String value) {
+        return value == null ? SIMPLE : BrokerMode.valueOf(value.trim().toUpperCase());
+    }
+}
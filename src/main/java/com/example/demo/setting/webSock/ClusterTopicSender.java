@@ -0,0 +1,194 @@
+package com.example.demo.setting.webSock;
+
+import com.example.demo.order.service.OrderBoardProjection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * /topic 메시지 전송 창구
+ *
+ * websocket.broker.mode 에 따라
+ * - SIMPLE : 이 노드의 내장 브로커로만 전송
+ * - RELAY  : 외부 STOMP 브로커로 전송 (브로커가 노드 간 전달)
+ * - REDIS  : Redis 채널에 발행하고, 모든 노드(자신 포함)가 받아서 각자의 내장 브로커로 전달
+ *
+ * 클러스터 모드(RELAY, REDIS)에서는 다른 노드에서 발생한 주문 이벤트를 받으면
+ * 해당 매장의 주문 현황판 프로젝션을 비워서 다음 조회 때 DB에서 다시 읽도록 합니다.
+ * 노드별 로컬 캐시도 같은 채널로 무효화 알림을 주고받습니다. (broadcastEvict / onEvict)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterTopicSender {
+
+    private static final String ORDER_TOPIC_PREFIX = "/topic/orders/";
+    private static final String EVICT_PREFIX = "evict:";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final OrderBoardProjection orderBoardProjection;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerModeValue;
+
+    @Value("${websocket.broker.redis.channel:ws:topic}")
+    private String channel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private BrokerMode brokerMode;
+
+    // 캐시 이름 -> 다른 노드에서 무효화 알림을 받았을 때 실행할 작업
+    private final Map<String, Consumer<String>> evictListeners = new ConcurrentHashMap<>();
+
+    // 전달 지표
+    private final LongAdder localDelivered = new LongAdder();
+    private final LongAdder redisPublished = new LongAdder();
+    private final LongAdder redisReceived = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        brokerMode = BrokerMode.from(brokerModeValue);
+        if (isClustered()) {
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> onClusterMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(channel));
+        }
+        log.info("WebSocket 브로커 모드: {}, nodeId: {}", brokerMode, nodeId);
+    }
+
+    public boolean isClustered() {
+        return brokerMode != BrokerMode.SIMPLE;
+    }
+
+    public void send(String destination, Object payload) {
+        try {
+            switch (brokerMode) {
+                case REDIS -> publish(new Envelope(nodeId, destination, objectMapper.valueToTree(payload), true));
+                case RELAY -> {
+                    deliverLocally(destination, payload);
+                    // 메시지는 브로커가 전달하므로 다른 노드에는 현황판 변경 사실만 알림
+                    if (destination.startsWith(ORDER_TOPIC_PREFIX)) {
+                        publish(new Envelope(nodeId, destination, null, false));
+                    }
+                }
+                default -> deliverLocally(destination, payload);
+            }
+        } catch (Exception e) {
+            failed.increment();
+            log.error("🚨 WebSocket 메시지 전송 실패 - 목적지: {}, 오류: {}", destination, e.getMessage(), e);
+        }
+    }
+
+    // 다른 노드의 로컬 캐시 항목 무효화 (클러스터 모드에서만 발행, 자기 노드는 호출한 쪽에서 직접 비움)
+    public void broadcastEvict(String cacheName, String key) {
+        if (!isClustered()) {
+            return;
+        }
+        try {
+            publish(new Envelope(nodeId, EVICT_PREFIX + cacheName + ":" + key, null, false));
+        } catch (Exception e) {
+            failed.increment();
+            log.error("🚨 캐시 무효화 알림 발행 실패 - 캐시: {}, 키: {}, 오류: {}", cacheName, key, e.getMessage(), e);
+        }
+    }
+
+    public void onEvict(String cacheName, Consumer<String> listener) {
+        evictListeners.put(cacheName, listener);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", brokerMode);
+        metrics.put("nodeId", nodeId);
+        metrics.put("localDelivered", localDelivered.sum());
+        metrics.put("redisPublished", redisPublished.sum());
+        metrics.put("redisReceived", redisReceived.sum());
+        metrics.put("failed", failed.sum());
+        return metrics;
+    }
+
+    // 전달 지표 주기적 기록
+    @Scheduled(fixedDelayString = "${websocket.broker.metrics-log-ms:300000}")
+    public void logMetrics() {
+        log.info("WebSocket 전달 지표: {}", getMetrics());
+    }
+
+    private void publish(Envelope envelope) throws Exception {
+        redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+        redisPublished.increment();
+    }
+
+    private void deliverLocally(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        localDelivered.increment();
+    }
+
+    private void onClusterMessage(String json) {
+        redisReceived.increment();
+        try {
+            Envelope envelope = objectMapper.readValue(json, Envelope.class);
+
+            if (envelope.getDestination().startsWith(EVICT_PREFIX)) {
+                if (!nodeId.equals(envelope.getOrigin())) {
+                    dispatchEvict(envelope.getDestination().substring(EVICT_PREFIX.length()));
+                }
+                return;
+            }
+
+            if (!nodeId.equals(envelope.getOrigin()) && envelope.getDestination().startsWith(ORDER_TOPIC_PREFIX)) {
+                Long storeId = Long.valueOf(envelope.getDestination().substring(ORDER_TOPIC_PREFIX.length()));
+                orderBoardProjection.evict(storeId);
+            }
+
+            if (envelope.isDeliver()) {
+                deliverLocally(envelope.getDestination(), envelope.getPayload());
+            }
+        } catch (Exception e) {
+            failed.increment();
+            log.error("🚨 클러스터 WebSocket 메시지 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void dispatchEvict(String target) {
+        int separator = target.indexOf(':');
+        Consumer<String> listener = separator < 0 ? null : evictListeners.get(target.substring(0, separator));
+        if (listener != null) {
+            listener.accept(target.substring(separator + 1));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Envelope {
+        private String origin;
+        private String destination;
+        private JsonNode payload;
+        private boolean deliver; // false면 현황판/캐시 무효화 알림만
+    }
+}
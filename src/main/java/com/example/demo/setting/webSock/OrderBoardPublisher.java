@@ -0,0 +1,304 @@
+package com.example.demo.setting.webSock;
+
+import com.example.demo.order.dto.OrderBoardEvent;
+import com.example.demo.order.dto.OrderGroupBatchMessage;
+import com.example.demo.order.entity.OrderGroup;
+import com.example.demo.order.event.OrderBoardResyncEvent;
+import com.example.demo.order.service.OrderBoardProjection;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문 현황판 델타 이벤트 발행
+ * 이벤트마다 전체 현황판을 다시 조회/직렬화하지 않고 변경된 주문 그룹만 전송합니다.
+ * 트랜잭션 안에서 호출되면 현황판 프로젝션 갱신과 전송은 커밋 이후에 수행됩니다.
+ *
+ * 같은 매장의 델타가 짧은 시간에 몰리면(결제 승인 폭주 등) 하나의 BATCH 메시지로 합쳐 전송합니다.
+ * - 마지막 이벤트 후 coalesce-window-ms 동안 추가 이벤트가 없으면 전송
+ * - 이벤트가 계속 들어와도 첫 이벤트 후 max-staleness-ms 를 넘기지 않고 전송
+ *
+ * 여러 노드로 운영(websocket.broker.mode=relay|redis)할 때는 순번을 Redis에서 발급해서
+ * 어느 노드에서 발생한 이벤트든 매장별 순번이 하나로 이어지도록 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderBoardPublisher {
+
+    private static final String DESTINATION_PREFIX = "/topic/orders/";
+    private static final String SEQUENCE_KEY_PREFIX = "order:board:seq:";
+
+    private final ClusterTopicSender clusterTopicSender;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final WebBroadCast webBroadCast;
+    private final OrderBoardProjection orderBoardProjection;
+
+    // 매장별 이벤트 순번 (단일 노드용)
+    private final ConcurrentMap<Long, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    // 매장별 전송 대기 중인 델타
+    private final ConcurrentMap<Long, PendingBatch> pending = new ConcurrentHashMap<>();
+
+    // 매장별 순번 부여 + 대기열 추가 순서를 맞추는 잠금 (Redis INCR 를 맵 잠금 안에서 하지 않도록 분리)
+    private final ConcurrentMap<Long, Object> enqueueLocks = new ConcurrentHashMap<>();
+
+    // 매장별 전송 순서를 지키기 위해 단일 스레드로 전송
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+
+    private final LongAdder pushCount = new LongAdder();
+    private final LongAdder mergedEventCount = new LongAdder();
+
+    @Value("${order.board.coalesce-window-ms:100}")
+    private long coalesceWindowMs;
+
+    @Value("${order.board.max-staleness-ms:300}")
+    private long maxStalenessMs;
+
+    // 재연결이 몰릴 때 같은 스냅샷을 재사용하는 시간
+    @Value("${order.board.snapshot-cache-ms:1000}")
+    private long snapshotCacheMs;
+
+    // 매장별 최근 스냅샷 (sequence가 그대로인 동안만 유효)
+    private final ConcurrentMap<Long, CachedSnapshot> snapshotCache = new ConcurrentHashMap<>();
+
+    // 결제 승인으로 현황판에 주문이 추가됨
+    public void publishOrderAdded(OrderGroup orderGroup) {
+        // 지연 로딩이 필요하므로 항목 변환은 트랜잭션 안에서 수행
+        OrderGroupBatchMessage.OrderGroupEntry entry = webBroadCast.createOrderGroupEntry(orderGroup);
+        Long storeId = orderGroup.getStoreId();
+
+        afterCommit(() -> {
+            orderBoardProjection.orderApproved(storeId, entry);
+            publish(storeId, OrderBoardEvent.Type.ORDER_ADDED, entry.getOrderGroupId(), entry);
+        });
+    }
+
+    // 조리 완료로 현황판에서 주문이 빠짐
+    public void publishOrderCompleted(Long storeId, Long orderGroupId) {
+        afterCommit(() -> {
+            orderBoardProjection.orderRemoved(storeId, orderGroupId);
+            publish(storeId, OrderBoardEvent.Type.ORDER_COMPLETED, orderGroupId, null);
+        });
+    }
+
+    // 결제 실패로 삭제된 주문 (승인 전이라 구독자에게 보낸 적이 없으므로 프로젝션에서만 제거)
+    public void discardOrder(Long storeId, Long orderGroupId) {
+        afterCommit(() -> orderBoardProjection.orderRemoved(storeId, orderGroupId));
+    }
+
+    // 현재 현황판 전체를 구독자 모두에게 전송
+    public void publishSnapshot(Long storeId) {
+        clusterTopicSender.send(DESTINATION_PREFIX + storeId, createSnapshot(storeId));
+    }
+
+    /**
+     * 현재 sequence 기준 스냅샷
+     * 직전에 만든 스냅샷이 snapshot-cache-ms 이내이고 그 사이 새 이벤트가 없으면 그대로 반환합니다.
+     */
+    public OrderBoardEvent createSnapshot(Long storeId) {
+        long sequence = currentSequence(storeId);
+        long now = System.currentTimeMillis();
+
+        CachedSnapshot cached = snapshotCache.get(storeId);
+        if (cached != null && cached.snapshot.getSequence() == sequence && now - cached.createdAt < snapshotCacheMs) {
+            return cached.snapshot;
+        }
+
+        OrderBoardEvent snapshot = buildSnapshot(storeId, sequence);
+        snapshotCache.put(storeId, new CachedSnapshot(snapshot, now));
+        return snapshot;
+    }
+
+    /**
+     * 순번을 먼저 읽고 조회하므로, 조회 중 발생한 델타가 스냅샷에 이미 포함되어 있을 수 있습니다.
+     * (클라이언트는 orderGroupId 기준으로 멱등 처리)
+     */
+    private OrderBoardEvent buildSnapshot(Long storeId, long sequence) {
+        OrderGroupBatchMessage board = webBroadCast.createInactiveOrderGroupMessage(storeId);
+
+        return OrderBoardEvent.builder()
+                .type(OrderBoardEvent.Type.SNAPSHOT)
+                .storeId(board.getStoreId())
+                .sequence(sequence)
+                .groups(board.getGroups())
+                .build();
+    }
+
+    private void publish(Long storeId, OrderBoardEvent.Type type, Long orderGroupId,
+                         OrderGroupBatchMessage.OrderGroupEntry entry) {
+        OrderBoardEvent event = OrderBoardEvent.builder()
+                .type(type)
+                .storeId(storeId.toString())
+                .orderGroupId(orderGroupId)
+                .group(entry)
+                .build();
+
+        if (coalesceWindowMs <= 0) {
+            event.setSequence(nextSequence(storeId));
+            send(storeId, event);
+            return;
+        }
+        enqueue(storeId, event);
+    }
+
+    private void enqueue(Long storeId, OrderBoardEvent event) {
+        // 대기열 순서와 순번이 어긋나지 않도록 같은 매장끼리는 순번 부여부터 추가까지 한 번에
+        synchronized (enqueueLocks.computeIfAbsent(storeId, id -> new Object())) {
+            event.setSequence(nextSequence(storeId));
+            pending.compute(storeId, (id, batch) -> {
+                long now = System.currentTimeMillis();
+                if (batch == null) {
+                    batch = new PendingBatch(now);
+                }
+                batch.events.add(event);
+
+                // 대기 시간을 뒤로 미루되, 첫 이벤트 기준 최대 지연은 넘기지 않음
+                if (batch.flushTask != null) {
+                    batch.flushTask.cancel(false);
+                }
+                long flushAt = Math.min(now + coalesceWindowMs, batch.firstEventAt + maxStalenessMs);
+                batch.flushTask = flusher.schedule(() -> flush(id), Math.max(0, flushAt - now), TimeUnit.MILLISECONDS);
+                return batch;
+            });
+        }
+    }
+
+    private void flush(Long storeId) {
+        PendingBatch batch = pending.remove(storeId);
+        if (batch == null || batch.events.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (batch.events.size() == 1) {
+                send(storeId, batch.events.get(0));
+                return;
+            }
+
+            OrderBoardEvent last = batch.events.get(batch.events.size() - 1);
+            send(storeId, OrderBoardEvent.builder()
+                    .type(OrderBoardEvent.Type.BATCH)
+                    .storeId(storeId.toString())
+                    .sequence(last.getSequence())
+                    .events(batch.events)
+                    .build());
+            mergedEventCount.add(batch.events.size() - 1);
+            log.debug("주문 현황판 이벤트 {}건 병합 전송 - storeId: {}", batch.events.size(), storeId);
+        } catch (Exception e) {
+            log.error("주문 현황판 이벤트 전송 실패 - storeId: {}", storeId, e);
+        }
+    }
+
+    private void send(Long storeId, OrderBoardEvent event) {
+        clusterTopicSender.send(DESTINATION_PREFIX + storeId, event);
+        pushCount.increment();
+        log.debug("주문 현황판 이벤트 전송 - storeId: {}, type: {}, seq: {}", storeId, event.getType(), event.getSequence());
+    }
+
+    // 실제 전송 횟수
+    public long getPushCount() {
+        return pushCount.sum();
+    }
+
+    // 병합되어 별도로 전송되지 않은 이벤트 수
+    public long getMergedEventCount() {
+        return mergedEventCount.sum();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pushCount", getPushCount());
+        stats.put("mergedEventCount", getMergedEventCount());
+        stats.put("pendingStores", pending.size());
+        return stats;
+    }
+
+    // 전송/병합 지표 주기적 기록
+    @Scheduled(fixedDelayString = "${order.board.stats-log-ms:300000}")
+    public void logStats() {
+        log.info("주문 현황판 전송 지표: {}", getStats());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pending.keySet().forEach(this::flush);
+        flusher.shutdown();
+    }
+
+    // 프로젝션이 DB 기준으로 재구성되면 구독자에게 스냅샷을 다시 전송
+    @EventListener
+    public void handleResync(OrderBoardResyncEvent event) {
+        snapshotCache.remove(event.getStoreId());
+        publishSnapshot(event.getStoreId());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private long nextSequence(Long storeId) {
+        if (clusterTopicSender.isClustered()) {
+            Long next = redisTemplate.opsForValue().increment(SEQUENCE_KEY_PREFIX + storeId);
+            return next != null ? next : 0L;
+        }
+        return sequences.computeIfAbsent(storeId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long currentSequence(Long storeId) {
+        if (clusterTopicSender.isClustered()) {
+            String current = redisTemplate.opsForValue().get(SEQUENCE_KEY_PREFIX + storeId);
+            return current != null ? Long.parseLong(current) : 0L;
+        }
+        return sequences.computeIfAbsent(storeId, id -> new AtomicLong()).get();
+    }
+
+    private static class CachedSnapshot {
+        private final OrderBoardEvent snapshot;
+        private final long createdAt;
+
+        private CachedSnapshot(OrderBoardEvent snapshot, long createdAt) {
+            this.snapshot = snapshot;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static class PendingBatch {
+        private final long firstEventAt;
+        private final List<OrderBoardEvent> events = new ArrayList<>();
+        private ScheduledFuture<?> flushTask;
+
+        private PendingBatch(long firstEventAt) {
+            this.firstEventAt = firstEventAt;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.setting.webSock;
+
+import com.example.demo.store.entity.Store;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * 주문 현황판 구독 권한 확인
+ *
+ * /topic/orders/{storeId}, /app/orders/{storeId} 구독은 해당 매장 점주로 로그인한 세션만 허용합니다.
+ * STOMP 세션의 사용자는 핸드셰이크 요청에서 JwtAuthenticationFilter 가 설정한 인증 정보입니다.
+ */
+@Slf4j
+@Component
+public class OrderBoardSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final String[] ORDER_DESTINATION_PREFIXES = {"/topic/orders/", "/app/orders/"};
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE || accessor.getDestination() == null) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        for (String prefix : ORDER_DESTINATION_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                checkOwner(accessor.getUser(), destination.substring(prefix.length()));
+            }
+        }
+        return message;
+    }
+
+    // 구독하려는 매장의 점주가 아니면 AccessDeniedException
+    public static void checkOwner(Principal principal, Object storeId) {
+        Long ownerStoreId = storeIdOf(principal);
+        if (ownerStoreId == null || !ownerStoreId.toString().equals(String.valueOf(storeId))) {
+            log.warn("주문 현황판 구독 거부 - 매장: {}, 사용자 매장: {}", storeId, ownerStoreId);
+            throw new AccessDeniedException("해당 매장의 주문 현황판을 구독할 권한이 없습니다.");
+        }
+    }
+
+    private static Long storeIdOf(Principal principal) {
+        if (principal instanceof Authentication authentication && authentication.getPrincipal() instanceof Store store) {
+            return store.getStoreId();
+        }
+        return null;
+    }
+}
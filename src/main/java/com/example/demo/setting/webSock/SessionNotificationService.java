@@ -2,7 +2,6 @@ package com.example.demo.setting.webSock;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,7 +14,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SessionNotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterTopicSender clusterTopicSender;
 
     /**
      * 세션 무효화 알림을 특정 사용자에게 전송
@@ -35,7 +34,7 @@ public class SessionNotificationService {
 
             // 특정 사용자에게만 알림 전송
             String destination = "/topic/session/" + userId.replaceAll("[@.]", "_");
-            messagingTemplate.convertAndSend(destination, notification);
+            clusterTopicSender.send(destination, notification);
 
             log.info("🔔 세션 무효화 알림 전송 완료 - 사용자: {}, 목적지: {}", userId, destination);
 
@@ -59,7 +58,7 @@ public class SessionNotificationService {
             notification.put("action", "INFO");
 
             String destination = "/topic/session/" + userId.replaceAll("[@.]", "_");
-            messagingTemplate.convertAndSend(destination, notification);
+            clusterTopicSender.send(destination, notification);
 
             log.info("🔔 새 기기 로그인 알림 전송 완료 - 사용자: {}", userId);
 
@@ -83,7 +82,7 @@ public class SessionNotificationService {
             notification.put("action", "FORCE_LOGOUT");
 
             String destination = "/topic/session/" + userId.replaceAll("[@.]", "_");
-            messagingTemplate.convertAndSend(destination, notification);
+            clusterTopicSender.send(destination, notification);
 
             log.info("🔔 강제 로그아웃 알림 전송 완료 - 사용자: {}", userId);
 
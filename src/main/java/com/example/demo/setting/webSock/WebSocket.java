@@ -1,13 +1,34 @@
 package com.example.demo.setting.webSock;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.*;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocket implements WebSocketMessageBrokerConfigurer {
 
+    private final OrderBoardSubscriptionInterceptor orderBoardSubscriptionInterceptor;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws") // 클라이언트가 연결할 경로
@@ -18,7 +39,24 @@ public class WebSocket implements WebSocketMessageBrokerConfigurer {
     // 메시지 브로커 구성
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic"); // 브로드캐스트용 경로
+        if (BrokerMode.from(brokerMode) == BrokerMode.RELAY) {
+            // 외부 STOMP 브로커가 모든 노드의 구독자에게 전달
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            registry.enableSimpleBroker("/topic"); // 브로드캐스트용 경로 (REDIS 모드는 ClusterTopicSender가 노드 간 전달)
+        }
         registry.setApplicationDestinationPrefixes("/app"); // 메시지 보낼 때 사용할 접두어
     }
+
+    // 주문 현황판 구독은 해당 매장 점주만
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(orderBoardSubscriptionInterceptor);
+    }
 }
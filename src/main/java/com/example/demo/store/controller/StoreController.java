@@ -5,7 +5,9 @@ import com.example.demo.store.service.QrCodeService;
 import com.example.demo.store.dto.StoreSalesResponseDto;
 import com.example.demo.store.entity.QR_Code;
 import com.example.demo.store.repository.QRCodeRepository;
+import com.example.demo.store.service.StoreCardService;
 import com.example.demo.store.service.StoreService;
+import com.example.demo.store.dto.StoreCardDto;
 import com.example.demo.store.dto.StoreLoginDTO;
 import com.example.demo.store.dto.StoreRegistrationDTO;
 import com.example.demo.store.entity.Store;
@@ -38,6 +40,7 @@ import java.util.*;
 @Tag(name = "매장 관리", description = "매장 계정 관리 API")
 public class StoreController {
     private final StoreService storeService;
+    private final StoreCardService storeCardService;
     private final JwtTokenProvider jwtTokenProvider;
     private final QRCodeRepository qrCodeRepository;
     private final QrCodeService qrCodeService;
@@ -471,6 +474,12 @@ public class StoreController {
         return ResponseEntity.ok(storeSales);
     }
 
+    @Operation(summary = "매장 카드 조회", description = "탐색 화면용 매장 요약(이름, 주소, 평균 별점, 리뷰 수, 메뉴 수, 발급 가능 쿠폰 수)을 요청한 순서대로 반환합니다. 한 번에 최대 100개까지 조회할 수 있습니다.")
+    @GetMapping("/cards")
+    public ResponseEntity<List<StoreCardDto>> getStoreCards(@Parameter(description = "매장 ID 목록 (쉼표로 구분)") @RequestParam List<Long> storeIds) {
+        return ResponseEntity.ok(storeCardService.getCards(storeIds));
+    }
+
     @Operation(summary = "현재 로그인된 매장 프로필 조회", description = "현재 로그인된 매장의 기본 정보를 조회합니다.")
     @SecurityRequirement(name = "access_token")
     @GetMapping("/profile")
@@ -1,6 +1,8 @@
 package com.example.demo.store.controller;
 
+import com.example.demo.benefit.service.CouponCampaignService;
 import com.example.demo.benefit.service.CouponService;
+import com.example.demo.benefit.dto.CouponCampaignProgressDto;
 import com.example.demo.benefit.dto.CouponCreateRequestDto;
 import com.example.demo.benefit.dto.CouponDto;
 import com.example.demo.benefit.dto.CouponStatusUpdateRequestDto;
@@ -34,6 +36,7 @@ import org.springframework.web.bind.annotation.*;
 public class StoreCouponManagementController {
 
     private final CouponService couponService;
+    private final CouponCampaignService couponCampaignService;
     private final MemberValidUtil memberValidUtil;
 
     private ResponseEntity<?> checkStoreAuthorization(AppUser user) {
@@ -354,4 +357,40 @@ public class StoreCouponManagementController {
         return ResponseEntity.ok(couponService.getCouponsByStore(store.getId()));
 
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "단골 고객 대상 쿠폰 일괄 발급",
+            description = "매장에서 주문한 적이 있는 모든 고객에게 쿠폰을 일괄 발급하는 작업을 시작합니다. 이미 받은 고객은 제외하며, 남은 수량만큼만 발급합니다. 작업은 비동기로 진행되고, 응답의 jobId로 진행 상황을 조회할 수 있습니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "일괄 발급 시작",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = CouponCampaignProgressDto.class))),
+            @ApiResponse(responseCode = "400", description = "발급할 수 없는 쿠폰 (비활성, 소진, 다른 매장 쿠폰)"),
+            @ApiResponse(responseCode = "401", description = "인증 실패"),
+            @ApiResponse(responseCode = "409", description = "이미 진행 중인 작업이 있음")
+    })
+    @SecurityRequirement(name = "access_token")
+    @PostMapping("/{couponId}/campaign")
+    public ResponseEntity<CouponCampaignProgressDto> startCampaign(
+            @Parameter(description = "발급할 쿠폰의 ID", example = "1") @PathVariable Long couponId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Store store) {
+
+        memberValidUtil.validateIsStore(store);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(couponCampaignService.start(store.getId(), couponId));
+    }
+
+    @Operation(
+            summary = "쿠폰 일괄 발급 진행 상황 조회",
+            description = "일괄 발급 작업의 상태(RUNNING, COMPLETED, SOLD_OUT, FAILED), 발급 수, 초당 발급 수를 조회합니다."
+    )
+    @SecurityRequirement(name = "access_token")
+    @GetMapping("/campaigns/{jobId}")
+    public ResponseEntity<CouponCampaignProgressDto> getCampaignProgress(
+            @Parameter(description = "일괄 발급 작업 ID") @PathVariable String jobId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Store store) {
+
+        memberValidUtil.validateIsStore(store);
+        return ResponseEntity.ok(couponCampaignService.getProgress(store.getId(), jobId));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.store.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "매장 카드 (탐색 화면용 요약)")
+public class StoreCardDto {
+
+    @Schema(description = "매장 ID", example = "1")
+    private Long storeId;
+
+    @Schema(description = "매장 이름", example = "카페 이고")
+    private String storeName;
+
+    @Schema(description = "전체 주소 (등록 전이면 null)", example = "서울특별시 노원구 공릉로 232", nullable = true)
+    private String address;
+
+    @Schema(description = "평균 별점 (평가가 없으면 null)", example = "4.5", nullable = true)
+    private Double averageRating;
+
+    @Schema(description = "리뷰 수", example = "12")
+    private long reviewCount;
+
+    @Schema(description = "메뉴 수", example = "8")
+    private long menuCount;
+
+    @Schema(description = "지금 발급 가능한 쿠폰 수", example = "2")
+    private long activeCouponCount;
+}
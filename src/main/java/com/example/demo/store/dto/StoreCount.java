@@ -0,0 +1,7 @@
+package com.example.demo.store.dto;
+
+// 매장별 개수 (메뉴/리뷰/쿠폰 개수 GROUP BY 조회용)
+public interface StoreCount {
+    Long getStoreId();
+    Long getCount();
+}
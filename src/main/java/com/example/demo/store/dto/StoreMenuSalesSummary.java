@@ -0,0 +1,9 @@
+package com.example.demo.store.dto;
+
+// 매장 메뉴 판매 카운터 합계 (StoreMenuRepository.sumSalesByStoreId)
+public interface StoreMenuSalesSummary {
+    Long getDailyRevenue();
+    Long getRevenue();
+    Long getDailySales();
+    Long getTotalSales();
+}
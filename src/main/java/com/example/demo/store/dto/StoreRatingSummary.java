@@ -0,0 +1,8 @@
+package com.example.demo.store.dto;
+
+// 매장 평균 별점 (StoreMenuRepository.findRatingSummaries, 메뉴 별점을 평가 수로 가중 평균)
+public interface StoreRatingSummary {
+    Long getStoreId();
+    Double getAverageRating();
+    Long getRatingCount();
+}
@@ -0,0 +1,11 @@
+package com.example.demo.store.dto;
+
+// 매장별 누적 판매량 1위 메뉴 (StoreMenuRepository.findTopMenus)
+public interface StoreTopMenu {
+    Long getStoreId();
+    Long getMenuId();
+    String getMenuName();
+    Integer getPrice();
+    String getImageUrl();
+    Integer getTotalSales();
+}
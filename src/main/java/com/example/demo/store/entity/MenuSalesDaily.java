@@ -0,0 +1,33 @@
+package com.example.demo.store.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// 매장/메뉴/일자별 판매 집계 (결제 승인 시 누적, 매일 밤 원본 주문 항목 기준으로 재계산)
+@Entity
+@Table(name = "menu_sales_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_menu_sales_daily", columnNames = {"store_id", "menu_id", "sales_date"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class MenuSalesDaily {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(name = "menu_id", nullable = false)
+    private Long menuId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    private long quantity;
+
+    private long revenue;
+}
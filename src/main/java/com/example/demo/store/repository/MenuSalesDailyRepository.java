@@ -0,0 +1,81 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.dto.MenuSalesStatisticsDto;
+import com.example.demo.store.entity.MenuSalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MenuSalesDailyRepository extends JpaRepository<MenuSalesDaily, Long> {
+
+    // 기간별 메뉴 판매 통계 (일자별 집계 행만 읽음)
+    @Query("""
+    SELECT new com.example.demo.store.dto.MenuSalesStatisticsDto(
+        m.menuName,
+        m.imageUrl,
+        SUM(d.quantity),
+        SUM(d.revenue)
+    )
+    FROM MenuSalesDaily d
+    JOIN StoreMenu m ON m.menuId = d.menuId
+    WHERE d.storeId = :storeId
+      AND d.salesDate BETWEEN :start AND :end
+    GROUP BY m.menuName, m.imageUrl
+""")
+    List<MenuSalesStatisticsDto> getMenuStats(
+            @Param("storeId") Long storeId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end
+    );
+
+    // 결제 승인 시 누적
+    @Modifying
+    @Query(value = """
+    INSERT INTO menu_sales_daily (store_id, menu_id, sales_date, quantity, revenue)
+    VALUES (:storeId, :menuId, :salesDate, :quantity, :revenue)
+    ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)
+""", nativeQuery = true)
+    void upsertSales(@Param("storeId") Long storeId,
+                     @Param("menuId") Long menuId,
+                     @Param("salesDate") LocalDate salesDate,
+                     @Param("quantity") long quantity,
+                     @Param("revenue") long revenue);
+
+    @Modifying
+    @Query("DELETE FROM MenuSalesDaily d WHERE d.salesDate = :salesDate")
+    int deleteBySalesDate(@Param("salesDate") LocalDate salesDate);
+
+    // 승인된 주문의 메뉴 항목으로 하루치 집계 재생성
+    @Modifying
+    @Query(value = """
+    INSERT INTO menu_sales_daily (store_id, menu_id, sales_date, quantity, revenue)
+    SELECT s.store_id, s.menu_id, s.date, SUM(s.order_amount), SUM(s.order_amount * s.order_price)
+    FROM customer_statistics s
+    JOIN order_group g ON g.id = s.order_group_id
+    WHERE s.date = :salesDate
+      AND s.line_type = 'MENU'
+      AND s.menu_id IS NOT NULL
+      AND g.approved = true
+    GROUP BY s.store_id, s.menu_id, s.date
+""", nativeQuery = true)
+    int rebuildSalesDate(@Param("salesDate") LocalDate salesDate);
+
+    // 집계 테이블이 비어 있을 때 전체 기간 생성
+    @Modifying
+    @Query(value = """
+    INSERT INTO menu_sales_daily (store_id, menu_id, sales_date, quantity, revenue)
+    SELECT s.store_id, s.menu_id, s.date, SUM(s.order_amount), SUM(s.order_amount * s.order_price)
+    FROM customer_statistics s
+    JOIN order_group g ON g.id = s.order_group_id
+    WHERE s.line_type = 'MENU'
+      AND s.menu_id IS NOT NULL
+      AND s.date IS NOT NULL
+      AND g.approved = true
+    GROUP BY s.store_id, s.menu_id, s.date
+""", nativeQuery = true)
+    int rebuildAll();
+}
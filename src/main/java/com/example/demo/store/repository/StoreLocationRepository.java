@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,5 +32,15 @@ public interface StoreLocationRepository extends JpaRepository<StoreLocation, Lo
     WHERE sl.district = :district
     """)
     List<StoreLocation> findByDistrict(@Param("district") String district);
-}
 
+    @Query("SELECT sl.district FROM StoreLocation sl WHERE sl.store.storeId = :storeId")
+    Optional<String> findDistrictByStoreId(@Param("storeId") Long storeId);
+
+    // 위치 색인용 (storeId, latitude, longitude)
+    @Query("SELECT sl.store.storeId, sl.latitude, sl.longitude FROM StoreLocation sl " +
+           "WHERE sl.latitude IS NOT NULL AND sl.longitude IS NOT NULL")
+    List<Object[]> findAllCoordinates();
+
+    @Query("SELECT sl FROM StoreLocation sl WHERE sl.store.storeId IN :storeIds")
+    List<StoreLocation> findByStoreIds(@Param("storeIds") Collection<Long> storeIds);
+}
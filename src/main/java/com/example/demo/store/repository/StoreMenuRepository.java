@@ -1,5 +1,9 @@
 package com.example.demo.store.repository;
 
+import com.example.demo.store.dto.StoreCount;
+import com.example.demo.store.dto.StoreMenuSalesSummary;
+import com.example.demo.store.dto.StoreRatingSummary;
+import com.example.demo.store.dto.StoreTopMenu;
 import com.example.demo.store.entity.Store;
 import com.example.demo.store.entity.StoreMenu;
 import com.example.demo.store.entity.StoreMenuReview;
@@ -8,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface StoreMenuRepository extends JpaRepository<StoreMenu, Long> {
@@ -35,6 +40,32 @@ public interface StoreMenuRepository extends JpaRepository<StoreMenu, Long> {
     // 각 상점의 메뉴 개수를 조회
     long countByStoreStoreId(Long storeId);
 
+    // 매장 판매 카운터 합계 (메뉴 엔티티를 로딩하지 않음)
+    @Query("SELECT COALESCE(SUM(m.dailyRevenue), 0) AS dailyRevenue, COALESCE(SUM(m.revenue), 0) AS revenue, " +
+           "COALESCE(SUM(m.dailySales), 0) AS dailySales, COALESCE(SUM(m.totalSales), 0) AS totalSales " +
+           "FROM StoreMenu m WHERE m.store.storeId = :storeId")
+    StoreMenuSalesSummary sumSalesByStoreId(@Param("storeId") Long storeId);
+
     @Query("SELECT DISTINCT m.category FROM StoreMenu m WHERE m.store = :store AND m.category IS NOT NULL")
     List<String> findCategoriesByStore(@Param("store")Store store);
+
+    // 여러 매장의 평균 별점 (쿼리 한 번)
+    @Query("SELECT m.store.storeId AS storeId, " +
+           "SUM(m.rating * m.ratingCount) / SUM(m.ratingCount) AS averageRating, SUM(m.ratingCount) AS ratingCount " +
+           "FROM StoreMenu m WHERE m.store.storeId IN :storeIds AND m.ratingCount > 0 " +
+           "GROUP BY m.store.storeId")
+    List<StoreRatingSummary> findRatingSummaries(@Param("storeIds") Collection<Long> storeIds);
+
+    // 여러 매장의 판매량 1위 메뉴 (쿼리 한 번, 동률이면 여러 행)
+    @Query("SELECT m.store.storeId AS storeId, m.menuId AS menuId, m.menuName AS menuName, m.price AS price, " +
+           "m.imageUrl AS imageUrl, m.totalSales AS totalSales " +
+           "FROM StoreMenu m WHERE m.store.storeId IN :storeIds AND m.available = true " +
+           "AND m.totalSales = (SELECT MAX(m2.totalSales) FROM StoreMenu m2 " +
+           "WHERE m2.store = m.store AND m2.available = true) " +
+           "ORDER BY m.menuId")
+    List<StoreTopMenu> findTopMenus(@Param("storeIds") Collection<Long> storeIds);
+
+    @Query("SELECT m.store.storeId AS storeId, COUNT(m) AS count FROM StoreMenu m " +
+           "WHERE m.store.storeId IN :storeIds GROUP BY m.store.storeId")
+    List<StoreCount> countByStoreIds(@Param("storeIds") Collection<Long> storeIds);
 }
@@ -0,0 +1,252 @@
+package com.example.demo.store.service;
+
+import com.example.demo.customer.entity.CustomerStatistics;
+import com.example.demo.customer.entity.OrderLineType;
+import com.example.demo.order.entity.OrderGroup;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StoreMenu 판매 카운터(dailySales, totalSales, dailyRevenue, revenue) 누적기
+ *
+ * 결제 승인마다 store_menu 행을 직접 갱신하면 점심 시간에 인기 메뉴 행에 락이 몰리므로,
+ * 매장별, 판매일별, 메뉴별로 모았다가 주기적으로 메뉴당 UPDATE 한 번(JDBC 배치, 트랜잭션 하나)으로 반영합니다.
+ * 아직 반영되지 않은 값은 pendingOf()로 조회할 수 있습니다.
+ *
+ * 일일 카운터는 자정에 한 노드만 초기화하고(Redis 잠금), 노드마다 남아 있던 값은 판매일로 구분합니다.
+ * - 전날 판매분은 자정 이후에 반영되어도 누적 카운터에만 더함
+ * - 자정 직후(reset-grace-ms) 초기화가 끝났다는 표시가 없으면 오늘 판매분은 다음 주기로 미룸 (초기화에 지워지지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuSalesCounter {
+
+    private static final String FLUSH_SQL = "UPDATE store_menu SET "
+            + "daily_sales = daily_sales + ?, total_sales = total_sales + ?, "
+            + "daily_revenue = daily_revenue + ?, revenue = revenue + ? "
+            + "WHERE menu_id = ?";
+
+    // 이미 초기화가 지난 날의 판매분 (누적 카운터만)
+    private static final String FLUSH_TOTAL_SQL = "UPDATE store_menu SET "
+            + "total_sales = total_sales + ?, revenue = revenue + ? "
+            + "WHERE menu_id = ?";
+
+    private static final String RESET_LOCK_PREFIX = "menu:sales:daily-reset:lock:";
+    private static final String RESET_DONE_PREFIX = "menu:sales:daily-reset:done:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${menu.sales.reset-grace-ms:60000}")
+    private long resetGraceMs;
+
+    // storeId -> (판매일 -> (menuId -> 미반영 판매량/매출))
+    // 누적은 매장 항목의 compute 안에서만 하므로, flush 가 매장 항목을 떼어 가는 것과 겹쳐도 빠지는 값이 없음
+    private final ConcurrentMap<Long, Map<LocalDate, Map<Long, Pending>>> pending = new ConcurrentHashMap<>();
+
+    // 결제 승인된 주문의 메뉴 항목 누적 (커밋된 경우에만)
+    public void recordApproved(OrderGroup orderGroup) {
+        List<long[]> sales = new ArrayList<>();
+        for (CustomerStatistics line : orderGroup.getCustomerStatisticsList()) {
+            if (line.getLineType() == OrderLineType.MENU && line.getStoreMenu() != null) {
+                sales.add(new long[]{line.getStoreMenu().getMenuId(), line.getOrderAmount(),
+                        line.getOrderAmount() * line.getOrderPrice()});
+            }
+        }
+        if (sales.isEmpty()) {
+            return;
+        }
+
+        Long storeId = orderGroup.getStoreId();
+        LocalDate salesDate = LocalDate.now(); // 일일 카운터 초기화(cron)와 같은 서버 시각 기준
+        Runnable apply = () -> add(storeId, salesDate, sales);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    // 아직 DB에 반영되지 않은 매장 합계 {오늘 판매량, 오늘 매출, 전체 판매량, 전체 매출}
+    public long[] pendingOf(Long storeId) {
+        long[] result = new long[4];
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Map<Long, Pending>> days = pending.get(storeId);
+        if (days != null) {
+            days.forEach((salesDate, menus) -> {
+                for (Pending p : menus.values()) {
+                    long quantity = p.quantity.sum();
+                    long revenue = p.revenue.sum();
+                    if (salesDate.equals(today)) {
+                        result[0] += quantity;
+                        result[1] += revenue;
+                    }
+                    result[2] += quantity;
+                    result[3] += revenue;
+                }
+            });
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${menu.sales.flush-ms:5000}")
+    public synchronized void flush() {
+        // 매장 항목을 통째로 떼어 와서 반영 (반영한 매장/메뉴는 맵에서 사라짐)
+        Map<Long, Map<LocalDate, Map<Long, Pending>>> drained = new HashMap<>();
+        for (Long storeId : pending.keySet()) {
+            Map<LocalDate, Map<Long, Pending>> days = pending.remove(storeId);
+            if (days != null) {
+                drained.put(storeId, days);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        boolean holdToday = !isResetDone(today);
+
+        List<Object[]> batch = new ArrayList<>();
+        List<Object[]> totalOnly = new ArrayList<>();
+        Map<Long, Map<LocalDate, Map<Long, Pending>>> held = new HashMap<>();
+        drained.forEach((storeId, days) -> days.forEach((salesDate, menus) -> {
+            if (salesDate.equals(today) && holdToday) {
+                held.computeIfAbsent(storeId, id -> new HashMap<>()).put(salesDate, menus);
+                return;
+            }
+            menus.forEach((menuId, p) -> {
+                long quantity = p.quantity.sum();
+                long revenue = p.revenue.sum();
+                if (quantity == 0 && revenue == 0) {
+                    return;
+                }
+                if (salesDate.isBefore(today)) {
+                    totalOnly.add(new Object[]{quantity, revenue, menuId});
+                } else {
+                    batch.add(new Object[]{quantity, quantity, revenue, revenue, menuId});
+                }
+            });
+        }));
+        // 미룬 오늘 판매분은 대기열로 돌려놓고, 실패 시 되돌릴 대상에서 제외
+        held.forEach((storeId, days) -> {
+            restore(storeId, days);
+            drained.get(storeId).keySet().removeAll(days.keySet());
+        });
+        if (batch.isEmpty() && totalOnly.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 전부 반영되거나 전부 취소되도록 한 트랜잭션에서 실행
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                }
+                if (!totalOnly.isEmpty()) {
+                    jdbcTemplate.batchUpdate(FLUSH_TOTAL_SQL, totalOnly);
+                }
+            });
+            log.debug("메뉴 판매 카운터 반영 - {}개 메뉴 (전날 판매분 {}개)", batch.size() + totalOnly.size(), totalOnly.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영되도록 되돌림
+            drained.forEach(this::restore);
+            log.error("메뉴 판매 카운터 반영 실패 - {}개 메뉴", batch.size() + totalOnly.size(), e);
+        }
+    }
+
+    // 자정에 일일 판매량/매출 초기화 (여러 노드 중 한 번만, 끝나면 표시를 남겨 미뤄 둔 오늘 판매분이 반영되도록)
+    @Scheduled(cron = "${menu.sales.daily-reset-cron:0 0 0 * * *}")
+    public void resetDaily() {
+        String today = LocalDate.now().toString();
+        Boolean locked = redisTemplate.opsForValue()
+                .setIfAbsent(RESET_LOCK_PREFIX + today, "1", Duration.ofDays(2));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("메뉴 일일 판매 카운터 초기화 - 다른 노드에서 진행함");
+            return;
+        }
+        try {
+            int updated = jdbcTemplate.update("UPDATE store_menu SET daily_sales = 0, daily_revenue = 0 "
+                    + "WHERE daily_sales <> 0 OR daily_revenue <> 0");
+            redisTemplate.opsForValue().set(RESET_DONE_PREFIX + today, "1", Duration.ofDays(2));
+            log.info("메뉴 일일 판매 카운터 초기화 - {}개 메뉴", updated);
+        } catch (RuntimeException e) {
+            redisTemplate.delete(RESET_LOCK_PREFIX + today); // 다른 노드/다음 시도가 다시 할 수 있도록
+            throw e;
+        }
+    }
+
+    // 자정 직후에만 Redis 확인 (그 이후에는 초기화가 끝났거나 실패한 것으로 보고 더 미루지 않음)
+    private boolean isResetDone(LocalDate today) {
+        long sinceMidnightMs = Duration.between(today.atStartOfDay(), LocalDateTime.now()).toMillis();
+        if (sinceMidnightMs >= resetGraceMs) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(RESET_DONE_PREFIX + today));
+        } catch (Exception e) {
+            log.warn("메뉴 일일 판매 카운터 초기화 여부 확인 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // sales: {menuId, 판매량, 매출}
+    private void add(Long storeId, LocalDate salesDate, List<long[]> sales) {
+        pending.compute(storeId, (id, days) -> {
+            Map<LocalDate, Map<Long, Pending>> result = days != null ? days : new ConcurrentHashMap<>();
+            Map<Long, Pending> menus = result.computeIfAbsent(salesDate, date -> new ConcurrentHashMap<>());
+            for (long[] sale : sales) {
+                Pending p = menus.computeIfAbsent(sale[0], menuId -> new Pending());
+                p.quantity.add(sale[1]);
+                p.revenue.add(sale[2]);
+            }
+            return result;
+        });
+    }
+
+    // 떼어 온 매장 항목을 다시 대기열로
+    private void restore(Long storeId, Map<LocalDate, Map<Long, Pending>> days) {
+        days.forEach((salesDate, menus) -> {
+            List<long[]> sales = new ArrayList<>();
+            menus.forEach((menuId, p) -> sales.add(new long[]{menuId, p.quantity.sum(), p.revenue.sum()}));
+            add(storeId, salesDate, sales);
+        });
+    }
+
+    private static class Pending {
+        private final LongAdder quantity = new LongAdder();
+        private final LongAdder revenue = new LongAdder();
+    }
+}
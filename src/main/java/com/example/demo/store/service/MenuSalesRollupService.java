@@ -0,0 +1,120 @@
+package com.example.demo.store.service;
+
+import com.example.demo.customer.entity.CustomerStatistics;
+import com.example.demo.customer.entity.OrderLineType;
+import com.example.demo.order.entity.OrderGroup;
+import com.example.demo.store.repository.MenuSalesDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 메뉴 일별 판매 집계(menu_sales_daily) 관리
+ * - 결제 승인 시 해당 주문의 메뉴 항목만큼 누적
+ * - 매일 밤 최근 며칠치를 원본 주문 항목 기준으로 다시 계산해서 어긋난 값을 바로잡음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuSalesRollupService {
+
+    private static final String INIT_LOCK_KEY = "statistics:rollup:init:lock";
+
+    // 자기가 잡은 잠금일 때만 해제
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final MenuSalesDailyRepository menuSalesDailyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${statistics.rollup.reconcile-days:2}")
+    private int reconcileDays;
+
+    // 이 시간 안에 초기 생성이 끝나지 않으면 다른 노드가 이어받을 수 있음
+    @Value("${statistics.rollup.init-lock-ttl-minutes:30}")
+    private long initLockTtlMinutes;
+
+    // 결제 승인된 주문 반영 (승인 트랜잭션 안에서 호출)
+    @Transactional
+    public void recordApproved(OrderGroup orderGroup) {
+        Map<Long, long[]> salesByMenu = new LinkedHashMap<>();
+        LocalDate salesDate = null;
+
+        for (CustomerStatistics line : orderGroup.getCustomerStatisticsList()) {
+            if (line.getLineType() != OrderLineType.MENU || line.getStoreMenu() == null) {
+                continue;
+            }
+            salesDate = line.getDate();
+            long[] sales = salesByMenu.computeIfAbsent(line.getStoreMenu().getMenuId(), id -> new long[2]);
+            sales[0] += line.getOrderAmount();
+            sales[1] += line.getOrderAmount() * line.getOrderPrice();
+        }
+
+        if (salesDate == null) {
+            return;
+        }
+        LocalDate date = salesDate;
+        salesByMenu.forEach((menuId, sales) ->
+                menuSalesDailyRepository.upsertSales(orderGroup.getStoreId(), menuId, date, sales[0], sales[1]));
+    }
+
+    // 최근 reconcile-days 일(오늘 제외) 재계산
+    @Scheduled(cron = "${statistics.rollup.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= reconcileDays; i++) {
+            LocalDate date = today.minusDays(i);
+            menuSalesDailyRepository.deleteBySalesDate(date);
+            int rows = menuSalesDailyRepository.rebuildSalesDate(date);
+            log.info("메뉴 일별 판매 집계 재계산 - {}: {}행", date, rows);
+        }
+    }
+
+    // 처음 배포 시 집계 테이블이 비어 있으면 전체 기간 생성
+    // 여러 노드가 함께 떠도 한 노드만 생성하고, 실패해도 서버 기동은 막지 않음 (다음 재계산 때 최근 며칠은 바로잡힘)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String lockToken = UUID.randomUUID().toString();
+        try {
+            Boolean locked = redisTemplate.opsForValue()
+                    .setIfAbsent(INIT_LOCK_KEY, lockToken, Duration.ofMinutes(initLockTtlMinutes));
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("메뉴 일별 판매 집계 초기 생성 - 다른 노드에서 진행 중");
+                return;
+            }
+            // 잠금은 커밋 뒤에 풀어야 다음 노드가 커밋된 행을 보고 건너뜀
+            Integer rows = transactionTemplate.execute(status ->
+                    menuSalesDailyRepository.count() > 0 ? null : menuSalesDailyRepository.rebuildAll());
+            if (rows != null) {
+                log.info("메뉴 일별 판매 집계 초기 생성: {}행", rows);
+            }
+        } catch (Exception e) {
+            log.error("메뉴 일별 판매 집계 초기 생성 실패", e);
+        } finally {
+            try {
+                redisTemplate.execute(UNLOCK_SCRIPT, List.of(INIT_LOCK_KEY), lockToken);
+            } catch (Exception e) {
+                log.warn("메뉴 일별 판매 집계 초기 생성 잠금 해제 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.demo.store.service;
+
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.customer.repository.CustomerReviewCollectRepository;
+import com.example.demo.store.dto.StoreCardDto;
+import com.example.demo.store.dto.StoreCount;
+import com.example.demo.store.dto.StoreRatingSummary;
+import com.example.demo.store.entity.Store;
+import com.example.demo.store.entity.StoreLocation;
+import com.example.demo.store.repository.StoreLocationRepository;
+import com.example.demo.store.repository.StoreMenuRepository;
+import com.example.demo.store.repository.StoreRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매장 카드 (탐색 화면용 요약) 읽기 모델
+ *
+ * 매장 이름, 주소, 평균 별점, 리뷰 수, 메뉴 수, 발급 가능 쿠폰 수를 매장마다 Redis 해시 하나에 모아 둡니다.
+ * - 메뉴/리뷰/쿠폰/주소/매장 정보가 바뀌면 markDirty()로 표시하고, flush-ms 마다 모아서 다시 계산
+ *   (표시된 매장 전체를 항목마다 쿼리 한 번씩으로 계산)
+ * - 조회는 페이지의 매장 카드를 파이프라인 한 번으로 읽고, 없는 카드만 바로 계산해서 채움
+ * - 쿠폰 발급 시작/만료처럼 수정 없이 바뀌는 값은 ttl-hours 가 지나면 다시 계산됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StoreCardService {
+
+    private static final String KEY_PREFIX = "store:card:";
+    public static final int MAX_CARDS = 100;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final StoreRepository storeRepository;
+    private final StoreLocationRepository storeLocationRepository;
+    private final StoreMenuRepository storeMenuRepository;
+    private final CustomerReviewCollectRepository customerReviewCollectRepository;
+    private final CouponRepository couponRepository;
+
+    @Value("${store.card.ttl-hours:6}")
+    private long ttlHours;
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // 매장 카드에 들어가는 값이 바뀌었을 때 호출 (트랜잭션 중이면 커밋 후 표시)
+    public void markDirty(Long storeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dirty.add(storeId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dirty.add(storeId);
+            }
+        });
+    }
+
+    /**
+     * 매장 카드 여러 개 조회 (요청 순서 유지, 없는 매장은 제외)
+     */
+    public List<StoreCardDto> getCards(List<Long> storeIds) {
+        if (storeIds.isEmpty()) {
+            return List.of();
+        }
+        if (storeIds.size() > MAX_CARDS) {
+            throw new IllegalArgumentException("매장은 한 번에 " + MAX_CARDS + "개까지 조회할 수 있습니다.");
+        }
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Long storeId : storeIds) {
+                    operations.opsForHash().entries(KEY_PREFIX + storeId);
+                }
+                return null;
+            }
+        });
+
+        Map<Long, StoreCardDto> cards = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < storeIds.size(); i++) {
+            Map<?, ?> hash = (Map<?, ?>) results.get(i);
+            if (hash == null || hash.isEmpty()) {
+                missing.add(storeIds.get(i));
+            } else {
+                cards.put(storeIds.get(i), fromHash(hash));
+            }
+        }
+        if (!missing.isEmpty()) {
+            cards.putAll(rebuild(missing));
+        }
+
+        List<StoreCardDto> result = new ArrayList<>(storeIds.size());
+        for (Long storeId : storeIds) {
+            StoreCardDto card = cards.get(storeId);
+            if (card != null) {
+                result.add(card);
+            }
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${store.card.flush-ms:1000}")
+    public void flushDirty() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Long> storeIds = new ArrayList<>(dirty);
+        dirty.removeAll(storeIds);
+        for (int from = 0; from < storeIds.size(); from += MAX_CARDS) {
+            List<Long> chunk = storeIds.subList(from, Math.min(from + MAX_CARDS, storeIds.size()));
+            try {
+                rebuild(chunk);
+            } catch (Exception e) {
+                dirty.addAll(chunk); // 다음 주기에 다시 시도
+                log.error("매장 카드 갱신 실패 - 매장 {}개", chunk.size(), e);
+            }
+        }
+    }
+
+    // 매장 카드 계산 후 Redis 저장 (매장 수와 관계없이 쿼리 6번)
+    private Map<Long, StoreCardDto> rebuild(Collection<Long> storeIds) {
+        Map<Long, Store> stores = new HashMap<>();
+        for (Store store : storeRepository.findAllById(storeIds)) {
+            stores.put(store.getStoreId(), store);
+        }
+        Map<Long, String> addresses = new HashMap<>();
+        for (StoreLocation location : storeLocationRepository.findByStoreIds(storeIds)) {
+            addresses.put(location.getStore().getStoreId(), location.getFullAddress());
+        }
+        Map<Long, StoreRatingSummary> ratings = new HashMap<>();
+        for (StoreRatingSummary rating : storeMenuRepository.findRatingSummaries(storeIds)) {
+            ratings.put(rating.getStoreId(), rating);
+        }
+        Map<Long, Long> menuCounts = toMap(storeMenuRepository.countByStoreIds(storeIds));
+        Map<Long, Long> reviewCounts = toMap(customerReviewCollectRepository.countByStoreIds(storeIds));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> couponCounts = toMap(couponRepository.countAvailableByStoreIds(storeIds, now.plusHours(9), now));
+
+        Map<Long, StoreCardDto> cards = new HashMap<>();
+        for (Long storeId : storeIds) {
+            Store store = stores.get(storeId);
+            if (store == null) {
+                continue; // 삭제된 매장 (아래에서 카드도 삭제)
+            }
+            StoreRatingSummary rating = ratings.get(storeId);
+            cards.put(storeId, StoreCardDto.builder()
+                    .storeId(storeId)
+                    .storeName(store.getStoreName())
+                    .address(addresses.get(storeId))
+                    .averageRating(rating != null ? rating.getAverageRating() : null)
+                    .reviewCount(reviewCounts.getOrDefault(storeId, 0L))
+                    .menuCount(menuCounts.getOrDefault(storeId, 0L))
+                    .activeCouponCount(couponCounts.getOrDefault(storeId, 0L))
+                    .build());
+        }
+
+        Duration ttl = Duration.ofHours(ttlHours);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Long storeId : storeIds) {
+                    String key = KEY_PREFIX + storeId;
+                    StoreCardDto card = cards.get(storeId);
+                    operations.delete(key);
+                    if (card != null) {
+                        operations.opsForHash().putAll(key, toHash(card));
+                        operations.expire(key, ttl);
+                    }
+                }
+                return null;
+            }
+        });
+        return cards;
+    }
+
+    private static Map<Long, Long> toMap(List<StoreCount> counts) {
+        Map<Long, Long> result = new HashMap<>();
+        for (StoreCount count : counts) {
+            result.put(count.getStoreId(), count.getCount());
+        }
+        return result;
+    }
+
+    private static Map<String, String> toHash(StoreCardDto card) {
+        Map<String, String> hash = new HashMap<>();
+        hash.put("storeId", String.valueOf(card.getStoreId()));
+        hash.put("storeName", card.getStoreName() != null ? card.getStoreName() : "");
+        if (card.getAddress() != null) {
+            hash.put("address", card.getAddress());
+        }
+        if (card.getAverageRating() != null) {
+            hash.put("averageRating", String.valueOf(card.getAverageRating()));
+        }
+        hash.put("reviewCount", String.valueOf(card.getReviewCount()));
+        hash.put("menuCount", String.valueOf(card.getMenuCount()));
+        hash.put("activeCouponCount", String.valueOf(card.getActiveCouponCount()));
+        return hash;
+    }
+
+    private static StoreCardDto fromHash(Map<?, ?> hash) {
+        Object averageRating = hash.get("averageRating");
+        return StoreCardDto.builder()
+                .storeId(Long.valueOf((String) hash.get("storeId")))
+                .storeName((String) hash.get("storeName"))
+                .address((String) hash.get("address"))
+                .averageRating(averageRating != null ? Double.valueOf((String) averageRating) : null)
+                .reviewCount(Long.parseLong((String) hash.get("reviewCount")))
+                .menuCount(Long.parseLong((String) hash.get("menuCount")))
+                .activeCouponCount(Long.parseLong((String) hash.get("activeCouponCount")))
+                .build();
+    }
+}
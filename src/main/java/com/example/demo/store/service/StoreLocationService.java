@@ -13,13 +13,18 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class StoreLocationService {
     private final StoreLocationRepository storeLocationRepository;
+    private final StoreSpatialIndex storeSpatialIndex;
+    private final StoreCardService storeCardService;
 
     @Transactional
     public StoreLocation saveOrUpdateLocation(Store store, String fullAddress, String city, String district, Double latitude, Double longitude) {
         StoreLocation location = storeLocationRepository.findByStore(store)
                 .orElse(StoreLocation.builder().store(store).build());
         location.updateLocation(fullAddress, city, district, latitude, longitude);
-        return storeLocationRepository.save(location);
+        StoreLocation saved = storeLocationRepository.save(location);
+        storeSpatialIndex.update(store.getStoreId(), latitude, longitude); // 커밋 후 위치 색인 갱신
+        storeCardService.markDirty(store.getStoreId());
+        return saved;
     }
 
     // 매장별 위치 정보 조회 (추가)
@@ -32,5 +37,7 @@ public class StoreLocationService {
     public void deleteByStore(Store store) {
         storeLocationRepository.findByStore(store)
             .ifPresent(storeLocationRepository::delete);
+        storeSpatialIndex.remove(store.getStoreId());
+        storeCardService.markDirty(store.getStoreId());
     }
 }
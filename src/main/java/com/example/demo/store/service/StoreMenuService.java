@@ -1,5 +1,6 @@
 package com.example.demo.store.service;
 
+import com.example.demo.customer.repository.CustomerStatisticsRepository;
 import com.example.demo.setting.exception.BusinessException;
 import com.example.demo.setting.exception.ErrorCode;
 import com.example.demo.setting.util.S3UploadService;
@@ -12,6 +13,8 @@ import com.example.demo.store.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,6 +25,8 @@ public class StoreMenuService {
     private final StoreRepository storeRepository;
     private final StoreMenuRepository storeMenuRepository;
     private final S3UploadService s3UploadService;
+    private final StoreCardService storeCardService;
+    private final CustomerStatisticsRepository customerStatisticsRepository;
 
     // 메뉴 생성
     @Transactional
@@ -42,6 +47,7 @@ public class StoreMenuService {
                 .store(store)
                 .build();
         storeMenuRepository.save(storeMenu);
+        storeCardService.markDirty(storeId);
 
         return new MenuResponseDto(
                 storeMenu.getMenuId(),
@@ -110,11 +116,22 @@ public class StoreMenuService {
             throw new BusinessException(ErrorCode.STORE_MENU_EXCEPTION);
         }
 
-        if (storeMenu.getImageUrl() != null && !storeMenu.getImageUrl().isEmpty()) {
-            s3UploadService.deleteFile(storeMenu.getImageUrl());
-        }
-
+        // 팔린 적 있는 메뉴도 지울 수 있도록 주문 항목의 메뉴 연결을 먼저 끊음
+        customerStatisticsRepository.detachMenu(menuId);
         storeMenuRepository.delete(storeMenu);
+        storeMenuRepository.flush();
+        storeCardService.markDirty(storeId);
+
+        // 이미지는 DB 삭제가 커밋된 뒤에 삭제
+        String imageUrl = storeMenu.getImageUrl();
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    s3UploadService.deleteFile(imageUrl);
+                }
+            });
+        }
     }
 
     // 모든 메뉴 조회
@@ -4,16 +4,18 @@ import com.example.demo.setting.exception.BusinessException;
 import com.example.demo.setting.exception.ErrorCode;
 import com.example.demo.store.dto.MenuSalesStatisticsDto;
 import com.example.demo.store.dto.StoreRegistrationDTO;
+import com.example.demo.store.dto.StoreMenuSalesSummary;
 import com.example.demo.store.dto.StoreSalesResponseDto;
 import com.example.demo.store.entity.QR_Code;
 import com.example.demo.store.entity.Store;
 import com.example.demo.store.entity.StoreMenu;
 import com.example.demo.benefit.entity.Coupon;
 import com.example.demo.benefit.repository.CustomerCouponRepository;
-import com.example.demo.customer.repository.CustomerStatisticsRepository;
 import com.example.demo.recommendation.repository.MenuRecommendationCacheRepository;
 import com.example.demo.recommendation.repository.MenuRecommendationHistoryRepository;
+import com.example.demo.store.repository.MenuSalesDailyRepository;
 import com.example.demo.store.repository.QRCodeRepository;
+import com.example.demo.store.repository.StoreMenuRepository;
 import com.example.demo.store.repository.StoreRepository;
 import com.example.demo.setting.util.TokenRedisService;
 import lombok.RequiredArgsConstructor;
@@ -39,10 +41,13 @@ public class StoreService {
     private final StoreRepository storeRepository;
     private final CustomerCouponRepository customerCouponRepository;
     private final PasswordEncoder passwordEncoder;
-    private final CustomerStatisticsRepository customerStatisticsRepository;
+    private final MenuSalesDailyRepository menuSalesDailyRepository;
+    private final StoreMenuRepository storeMenuRepository;
+    private final MenuSalesCounter menuSalesCounter;
     private final TokenRedisService tokenRedisService;
     private final com.example.demo.setting.service.EmailService emailService;
     private final StoreLocationService storeLocationService; // 추가
+    private final StoreCardService storeCardService;
     private final MenuRecommendationCacheRepository menuRecommendationCacheRepository; // 추가
     private final MenuRecommendationHistoryRepository menuRecommendationHistoryRepository; // 추가
 
@@ -91,6 +96,7 @@ public class StoreService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.STORE_NOT_FOUND));
 
         log.info("[매장 탈퇴 시작] 매장 ID: {}, 매장명: {}", storeId, store.getStoreName());
+        storeCardService.markDirty(storeId); // 커밋 후 카드 삭제
 
         // 0. 매장 주소 정보 삭제 (추가)
         try {
@@ -259,6 +265,7 @@ public class StoreService {
         // 매장명 업데이트
         if (updateDTO.getStoreName() != null && !updateDTO.getStoreName().trim().isEmpty()) {
             store.updateStoreName(updateDTO.getStoreName().trim());
+            storeCardService.markDirty(store.getStoreId());
             log.info("[매장명 변경] 이메일: {}, 기존: {} → 신규: {}", email, store.getStoreName(), updateDTO.getStoreName());
         }
 
@@ -343,35 +350,26 @@ public class StoreService {
 
     @Transactional(readOnly = true)
     public StoreSalesResponseDto getStoreSales(Long storeId) {
-        Store store = storeRepository.findById(storeId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.STORE_NOT_FOUND));
-
-        List<StoreMenu> menus = store.getStoreMenu();
-
-        long dailyTotalRevenue = 0L;
-        long totalRevenue = 0L;
-        int dailyTotalSales = 0;
-        int totalSales = 0;
-
-        for (StoreMenu menu : menus) {
-            dailyTotalRevenue += menu.getDailyRevenue();
-            totalRevenue += menu.getRevenue();
-            dailyTotalSales += menu.getDailySales();
-            totalSales += menu.getTotalSales();
+        if (!storeRepository.existsById(storeId)) {
+            throw new BusinessException(ErrorCode.STORE_NOT_FOUND);
         }
 
+        // DB 합계 + 아직 반영되지 않은 카운터
+        StoreMenuSalesSummary summary = storeMenuRepository.sumSalesByStoreId(storeId);
+        long[] pending = menuSalesCounter.pendingOf(storeId); // {오늘 판매량, 오늘 매출, 전체 판매량, 전체 매출}
+
         return new StoreSalesResponseDto(
                 storeId,
-                dailyTotalRevenue,
-                totalRevenue,
-                dailyTotalSales,
-                totalSales
+                summary.getDailyRevenue() + pending[1],
+                summary.getRevenue() + pending[3],
+                Math.toIntExact(summary.getDailySales() + pending[0]),
+                Math.toIntExact(summary.getTotalSales() + pending[2])
         );
     }
 
     public List<MenuSalesStatisticsDto> storeStatistics(Store store, LocalDate start, LocalDate end) {
         Long storeId = store.getStoreId();
-        return customerStatisticsRepository.getMenuStatsWithoutRelation(storeId, start, end);
+        return menuSalesDailyRepository.getMenuStats(storeId, start, end);
     }
 
     /**
@@ -0,0 +1,288 @@
+package com.example.demo.store.service;
+
+import com.example.demo.store.repository.StoreLocationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매장 위치 격자 색인 (메모리)
+ *
+ * 위도/경도를 cell-meters 크기의 격자로 나눠 칸마다 매장을 담아 둡니다.
+ * 반경 검색은 반경을 덮는 칸만, 가까운 k개 검색은 가운데 칸부터 한 겹씩 넓혀 가며 살펴보고
+ * 하버사인 거리로 걸러서 가까운 순으로 돌려줍니다.
+ *
+ * - 기동 시와 reload-ms 마다 DB에서 전체를 다시 읽음 (다른 노드에서 바뀐 위치 반영)
+ * - 매장 위치가 저장/삭제되면 커밋 후 해당 매장만 갱신
+ * - 재생성 중(DB 조회 중)에 들어온 갱신은 기록해 두었다가 새 스냅샷에 다시 반영 (조회 결과가 더 오래된 값일 수 있음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoreSpatialIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = 111_320; // 위도 1도 길이
+
+    // 거리가 같으면 매장 ID 순 (거리 기준 페이지 커서가 항상 같은 순서를 보도록)
+    private static final Comparator<StoreDistance> BY_DISTANCE =
+            Comparator.comparingDouble(StoreDistance::getDistanceMeters).thenComparing(StoreDistance::getStoreId);
+
+    private final StoreLocationRepository storeLocationRepository;
+
+    @Value("${store.geo.cell-meters:500}")
+    private double cellMeters;
+
+    private double cellDegrees;
+
+    // 갱신은 synchronized 로 한 번에 하나씩, 조회는 잠금 없이 현재 스냅샷을 읽음
+    private volatile Map<Long, Point> byStore = new HashMap<>();
+    private volatile Map<Long, List<Point>> cells = new HashMap<>();
+
+    // 재생성이 동시에 두 번 돌지 않도록
+    private final Object rebuildLock = new Object();
+
+    // 재생성 중에 반영된 갱신 (storeId -> 새 위치, 삭제면 null), 재생성 중이 아니면 null
+    private Map<Long, Point> updatesDuringRebuild;
+
+    @PostConstruct
+    public void init() {
+        cellDegrees = cellMeters / METERS_PER_DEGREE;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${store.geo.reload-ms:600000}", fixedDelayString = "${store.geo.reload-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                updatesDuringRebuild = new LinkedHashMap<>();
+            }
+
+            Map<Long, Point> stores = new HashMap<>();
+            try {
+                for (Object[] row : storeLocationRepository.findAllCoordinates()) {
+                    Point point = new Point(((Number) row[0]).longValue(), (Double) row[1], (Double) row[2]);
+                    stores.put(point.storeId, point);
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    updatesDuringRebuild = null;
+                }
+                throw e;
+            }
+
+            int replayed;
+            synchronized (this) {
+                replayed = updatesDuringRebuild.size();
+                updatesDuringRebuild.forEach((storeId, point) -> {
+                    if (point != null) {
+                        stores.put(storeId, point);
+                    } else {
+                        stores.remove(storeId);
+                    }
+                });
+                updatesDuringRebuild = null;
+                byStore = stores;
+                cells = buildCells(stores);
+            }
+            log.info("매장 위치 색인 재생성 - 매장: {}개, 칸: {}개, 재반영: {}건, {}ms",
+                    stores.size(), cells.size(), replayed, System.currentTimeMillis() - start);
+        }
+    }
+
+    // 매장 위치 저장/삭제 후 호출 (트랜잭션 중이면 커밋 후 반영, 좌표가 없으면 제거)
+    public void update(Long storeId, Double latitude, Double longitude) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(storeId, latitude, longitude);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(storeId, latitude, longitude);
+            }
+        });
+    }
+
+    public void remove(Long storeId) {
+        update(storeId, null, null);
+    }
+
+    /**
+     * 반경 안의 매장 (가까운 순)
+     */
+    public List<StoreDistance> withinRadius(double latitude, double longitude, double radiusMeters) {
+        Map<Long, List<Point>> snapshot = cells;
+        long row = row(latitude);
+        long col = col(longitude);
+        int rowSpan = (int) Math.ceil(radiusMeters / cellMeters);
+        int colSpan = (int) Math.ceil(radiusMeters / cellWidthMeters(latitude));
+
+        List<StoreDistance> result = new ArrayList<>();
+        for (long r = row - rowSpan; r <= row + rowSpan; r++) {
+            for (long c = col - colSpan; c <= col + colSpan; c++) {
+                collect(snapshot.get(key(r, c)), latitude, longitude, radiusMeters, result);
+            }
+        }
+        result.sort(BY_DISTANCE);
+        return result;
+    }
+
+    /**
+     * 가장 가까운 매장 k개 (maxMeters 이내, 가까운 순)
+     */
+    public List<StoreDistance> nearest(double latitude, double longitude, int k, double maxMeters) {
+        Map<Long, List<Point>> snapshot = cells;
+        long row = row(latitude);
+        long col = col(longitude);
+        double cellWidth = cellWidthMeters(latitude); // 경도 방향 칸 너비가 위도 방향보다 좁음
+        int maxRing = (int) Math.ceil(maxMeters / cellWidth);
+
+        List<StoreDistance> result = new ArrayList<>();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (long r = row - ring; r <= row + ring; r++) {
+                boolean edgeRow = r == row - ring || r == row + ring;
+                long step = edgeRow || ring == 0 ? 1 : 2L * ring; // 가운데 줄은 양 끝 칸만
+                for (long c = col - ring; c <= col + ring; c += step) {
+                    collect(snapshot.get(key(r, c)), latitude, longitude, maxMeters, result);
+                }
+            }
+
+            // 아직 안 본 칸의 매장은 최소 ring * 칸 너비 이상 떨어져 있음
+            if (result.size() >= k) {
+                result.sort(BY_DISTANCE);
+                if (result.get(k - 1).distanceMeters <= ring * cellWidth) {
+                    break;
+                }
+            }
+        }
+        result.sort(BY_DISTANCE);
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    public int size() {
+        return byStore.size();
+    }
+
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // 바뀐 매장이 있는 칸만 복사해서 새 스냅샷으로 교체
+    private synchronized void apply(Long storeId, Double latitude, Double longitude) {
+        Map<Long, Point> stores = new HashMap<>(byStore);
+        Map<Long, List<Point>> newCells = new HashMap<>(cells);
+
+        Point previous = stores.remove(storeId);
+        if (previous != null) {
+            List<Point> bucket = new ArrayList<>(newCells.getOrDefault(previous.cell, List.of()));
+            bucket.removeIf(point -> point.storeId == storeId);
+            if (bucket.isEmpty()) {
+                newCells.remove(previous.cell);
+            } else {
+                newCells.put(previous.cell, bucket);
+            }
+        }
+        Point point = null;
+        if (latitude != null && longitude != null) {
+            point = new Point(storeId, latitude, longitude);
+            stores.put(storeId, point);
+            List<Point> bucket = new ArrayList<>(newCells.getOrDefault(point.cell, List.of()));
+            bucket.add(point);
+            newCells.put(point.cell, bucket);
+        }
+        if (updatesDuringRebuild != null) {
+            updatesDuringRebuild.put(storeId, point);
+        }
+
+        byStore = stores;
+        cells = newCells;
+    }
+
+    private Map<Long, List<Point>> buildCells(Map<Long, Point> stores) {
+        Map<Long, List<Point>> result = new HashMap<>();
+        for (Point point : stores.values()) {
+            result.computeIfAbsent(point.cell, cell -> new ArrayList<>()).add(point);
+        }
+        return result;
+    }
+
+    private static void collect(List<Point> bucket, double latitude, double longitude, double maxMeters,
+                                List<StoreDistance> result) {
+        if (bucket == null) {
+            return;
+        }
+        for (Point point : bucket) {
+            double distance = haversineMeters(latitude, longitude, point.latitude, point.longitude);
+            if (distance <= maxMeters) {
+                result.add(new StoreDistance(point.storeId, distance));
+            }
+        }
+    }
+
+    private double cellWidthMeters(double latitude) {
+        return cellMeters * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / cellDegrees);
+    }
+
+    private long col(double longitude) {
+        return (long) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+
+    private class Point {
+        private final long storeId;
+        private final double latitude;
+        private final double longitude;
+        private final long cell;
+
+        private Point(long storeId, double latitude, double longitude) {
+            this.storeId = storeId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = key(row(latitude), col(longitude));
+        }
+    }
+
+    @Getter
+    public static class StoreDistance {
+        private final Long storeId;
+        private final double distanceMeters;
+
+        private StoreDistance(Long storeId, double distanceMeters) {
+            this.storeId = storeId;
+            this.distanceMeters = distanceMeters;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo;
+
+import com.example.demo.benefit.dto.BestCouponDto;
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.entity.CouponStatus;
+import com.example.demo.benefit.entity.DiscountType;
+import com.example.demo.benefit.entity.ExpiryType;
+import com.example.demo.benefit.service.BestCouponEvaluator;
+import com.example.demo.benefit.service.CompiledCouponRule;
+import com.example.demo.benefit.service.MenuCategoryIndex;
+import com.example.demo.customer.entity.CustomerCoupon;
+import com.example.demo.order.dto.OrderDTO;
+import com.example.demo.store.entity.StoreMenu;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// DB 없이 계산만 측정 (쿠폰 100개 x 장바구니 30줄)
+public class BestCouponEvaluatorBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(BestCouponEvaluatorBenchmarkTests.class);
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final String[] CATEGORIES = {"커피", "라떼", "티", "에이드", "베이커리", "디저트", "샌드위치", "MD"};
+
+    @Test
+    @DisplayName("카테고리/최소금액/한도를 반영해 가장 큰 할인 쿠폰을 고른다")
+    void picksLargestDiscount() {
+        List<StoreMenu> menus = List.of(
+                menu("아메리카노", 4000, "커피"),
+                menu("크루아상", 3500, "베이커리"));
+        MenuCategoryIndex index = new MenuCategoryIndex(menus);
+        List<CompiledCouponRule> rules = BestCouponEvaluator.compile(List.of(
+                customerCoupon("fixed-1000", DiscountType.FIXED_AMOUNT, 1000, null, null, List.of()),
+                customerCoupon("bakery-50", DiscountType.PERCENTAGE, 50, 1500, null, List.of("베이커리")),
+                customerCoupon("min-30000", DiscountType.FIXED_AMOUNT, 5000, null, 30000, List.of())
+        ), index);
+
+        // 아메리카노 2잔 + 크루아상 1개 = 11500원
+        BestCouponDto best = BestCouponEvaluator.pickBest(rules, index.summarize(List.of(
+                new OrderDTO("아메리카노", 4000, 2, false, false),
+                new OrderDTO("크루아상", 3500, 1, false, false),
+                new OrderDTO("CouponUsed:abc", 1000, 1, false, false))));
+
+        // 베이커리 50% = 1750원이지만 한도 1500원, 최소 금액 미달 쿠폰은 제외
+        assertThat(best.getCouponUuid()).isEqualTo("bakery-50");
+        assertThat(best.getOrderAmount()).isEqualTo(11500);
+        assertThat(best.getDiscountAmount()).isEqualTo(1500);
+        assertThat(best.getFinalAmount()).isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("쿠폰 100개 x 장바구니 30줄 최적 쿠폰 계산 시간")
+    void evaluate100CouponsAgainst30LineCart() {
+        Random random = new Random(42);
+
+        List<StoreMenu> menus = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            menus.add(menu("menu" + i, 1000 + random.nextInt(20) * 500, CATEGORIES[i % CATEGORIES.length]));
+        }
+        MenuCategoryIndex index = new MenuCategoryIndex(menus);
+
+        List<CustomerCoupon> coupons = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            List<String> categories = i % 3 == 0
+                    ? List.of()
+                    : List.of(CATEGORIES[i % CATEGORIES.length], CATEGORIES[(i + 3) % CATEGORIES.length]);
+            coupons.add(i % 2 == 0
+                    ? customerCoupon("c" + i, DiscountType.FIXED_AMOUNT, 500 + random.nextInt(10) * 500, null, random.nextInt(5) * 10000, categories)
+                    : customerCoupon("c" + i, DiscountType.PERCENTAGE, 5 + random.nextInt(30), 3000 + random.nextInt(5) * 1000, null, categories));
+        }
+
+        List<OrderDTO> cart = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            StoreMenu menu = menus.get(random.nextInt(menus.size()));
+            cart.add(new OrderDTO(menu.getMenuName(), menu.getPrice(), 1 + random.nextInt(3), false, false));
+        }
+
+        long compileStart = System.nanoTime();
+        List<CompiledCouponRule> rules = BestCouponEvaluator.compile(coupons, index);
+        long compileNanos = System.nanoTime() - compileStart;
+
+        // 장바구니 변환 + 100개 쿠폰 계산을 한 번으로 측정
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += BestCouponEvaluator.pickBest(rules, index.summarize(cart)).getDiscountAmount();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += BestCouponEvaluator.pickBest(rules, index.summarize(cart)).getDiscountAmount();
+        }
+        long avgNanos = (System.nanoTime() - start) / ITERATIONS;
+
+        log.info("쿠폰 100개 변환: {} us, 장바구니 30줄 평가 평균: {} ns (sink={})",
+                compileNanos / 1000, avgNanos, sink);
+        assertThat(sink).isPositive();
+    }
+
+    private static StoreMenu menu(String name, int price, String category) {
+        return StoreMenu.builder()
+                .menuName(name)
+                .price(price)
+                .category(category)
+                .available(true)
+                .build();
+    }
+
+    private static CustomerCoupon customerCoupon(String uuid, DiscountType type, int value, Integer limit,
+                                                 Integer minimumOrderAmount, List<String> categories) {
+        Coupon coupon = Coupon.builder()
+                .couponName(uuid)
+                .discountType(type)
+                .discountValue(value)
+                .discountLimit(limit)
+                .minimumOrderAmount(minimumOrderAmount)
+                .expiryType(ExpiryType.RELATIVE)
+                .expiryDays(30)
+                .totalQuantity(100)
+                .applicableCategories(categories)
+                .build();
+        return CustomerCoupon.builder()
+                .couponUuid(uuid)
+                .coupon(coupon)
+                .couponStatus(CouponStatus.UNUSED)
+                .issuedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusDays(30))
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo;
+
+import com.example.demo.benefit.dto.CouponCampaignProgressDto;
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.benefit.service.CouponCampaignService;
+import com.example.demo.benefit.service.CouponIssueEngine;
+import com.example.demo.benefit.service.CustomerCouponService;
+import com.example.demo.customer.entity.Customer;
+import com.example.demo.customer.entity.CustomerStatistics;
+import com.example.demo.customer.repository.CustomerStatisticsRepository;
+import com.example.demo.setting.exception.BusinessException;
+import com.example.demo.setting.exception.ErrorCode;
+import com.example.demo.store.entity.Store;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 일괄 발급 작업은 별도 스레드에서 청크마다 커밋하므로 테스트 트랜잭션 없이 실행 (청크 20건)
+@SpringBootTest(properties = "coupon.campaign.chunk-size=20")
+@Import(TestFixtures.class)
+public class CouponCampaignConcurrencyTests {
+
+    private static final int STOCK = 100;
+    private static final int PAST_CUSTOMERS = 80;
+    private static final int NEW_CUSTOMERS = 100;
+
+    @Autowired
+    private CouponCampaignService couponCampaignService;
+
+    @Autowired
+    private CustomerCouponService customerCouponService;
+
+    @Autowired
+    private CouponIssueEngine couponIssueEngine;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CustomerStatisticsRepository customerStatisticsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Store store;
+    private Coupon coupon;
+    private List<Customer> customers;
+
+    @AfterEach
+    void cleanUp() {
+        if (coupon != null) {
+            couponIssueEngine.persistIssued();
+            couponIssueEngine.resume(coupon.getId());
+        }
+        fixtures.cleanUp(store, coupon, customers);
+    }
+
+    @Test
+    @DisplayName("일괄 발급 중 선착순 발급이 몰려도 수량을 넘지 않고 한 고객이 두 장을 받지 않는다")
+    void campaignWithConcurrentClaims() throws InterruptedException {
+        // given: 주문한 적 있는 고객 80명 + 처음 온 고객 100명, 쿠폰 100장
+        store = fixtures.store("campaign-store");
+        coupon = fixtures.coupon(store, "캠페인 쿠폰", STOCK);
+        customers = fixtures.customers(PAST_CUSTOMERS + NEW_CUSTOMERS);
+
+        List<CustomerStatistics> lines = new ArrayList<>();
+        for (Customer customer : customers.subList(0, PAST_CUSTOMERS)) {
+            lines.add(CustomerStatistics.builder()
+                    .date(LocalDate.now())
+                    .orderDetails("아메리카노")
+                    .orderPrice(3000)
+                    .orderAmount(1)
+                    .customer(customer)
+                    .store(store)
+                    .build());
+        }
+        customerStatisticsRepository.saveAll(lines);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(customers.size());
+        AtomicBoolean campaignFinished = new AtomicBoolean();
+
+        // when: 모든 고객이 선착순 발급을 시도 (일괄 발급 중이라 막히면 끝날 때까지 다시 시도)
+        for (Customer customer : customers) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    while (true) {
+                        try {
+                            customerCouponService.issueCoupon(customer, coupon.getId());
+                            return;
+                        } catch (BusinessException e) {
+                            if (e.getErrorCode() != ErrorCode.COUPON_ISSUE_PAUSED || campaignFinished.get()) {
+                                return;
+                            }
+                            Thread.sleep(5);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        CouponCampaignProgressDto job = transactionTemplate.execute(status ->
+                couponCampaignService.start(store.getId(), coupon.getId()));
+        long deadline = System.currentTimeMillis() + 60_000;
+        while ("RUNNING".equals(job.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = couponCampaignService.getProgress(store.getId(), job.getJobId());
+        }
+        campaignFinished.set(true);
+        done.await(60, TimeUnit.SECONDS);
+        executor.shutdown();
+        couponIssueEngine.persistIssued();
+
+        // then
+        assertThat(job.getStatus()).isIn("COMPLETED", "SOLD_OUT");
+        long rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM customer_coupon WHERE coupon_id = ?", Long.class, coupon.getId());
+        long holders = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT customer_id) FROM customer_coupon WHERE coupon_id = ?", Long.class, coupon.getId());
+        int issuedQuantity = couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity();
+
+        assertThat(rows).isEqualTo(holders);
+        assertThat(rows).isEqualTo(issuedQuantity);
+        assertThat(issuedQuantity).isLessThanOrEqualTo(STOCK);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo;
+
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.benefit.service.CouponIssueEngine;
+import com.example.demo.benefit.service.CustomerCouponService;
+import com.example.demo.customer.entity.Customer;
+import com.example.demo.store.entity.Store;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 발급 건은 Redis 에서 확정된 뒤 배치로 저장되므로 테스트 트랜잭션 없이 실제 커밋된 행을 센다
+@SpringBootTest
+@Import(TestFixtures.class)
+public class CouponIssueLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponIssueLoadTests.class);
+
+    private static final int CLAIMERS = 1000;
+    private static final int STOCK = 300;
+
+    @Autowired
+    private CustomerCouponService customerCouponService;
+
+    @Autowired
+    private CouponIssueEngine couponIssueEngine;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Store store;
+    private Coupon coupon;
+    private List<Customer> customers;
+
+    @AfterEach
+    void cleanUp() {
+        if (coupon != null) {
+            couponIssueEngine.invalidate(coupon.getId());
+        }
+        fixtures.cleanUp(store, coupon, customers);
+    }
+
+    @Test
+    @DisplayName("1,000명 동시 선착순 발급 - 재고만큼만 발급되고 제한 시간 안에 모두 끝난다")
+    void concurrentClaims() throws InterruptedException {
+        // given
+        store = fixtures.store("flash-store");
+        coupon = fixtures.coupon(store, "선착순 쿠폰", STOCK);
+        customers = fixtures.customers(CLAIMERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLAIMERS);
+        CountDownLatch ready = new CountDownLatch(CLAIMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CLAIMERS);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        for (Customer customer : customers) {
+            executor.submit(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    customerCouponService.issueCoupon(customer, coupon.getId());
+                    success.incrementAndGet();
+                } catch (Exception e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        boolean finished = done.await(60, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        executor.shutdown();
+
+        couponIssueEngine.persistIssued();
+
+        // then
+        log.info("동시 요청 {}건: {}초, 초당 {}건 (발급 {}, 거절 {})", CLAIMERS, String.format("%.2f", seconds),
+                Math.round(CLAIMERS / seconds), success.get(), rejected.get());
+
+        assertThat(finished).isTrue();
+        assertThat(success.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(CLAIMERS - STOCK);
+        assertThat(couponRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(STOCK);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM customer_coupon WHERE coupon_id = ?", Long.class, coupon.getId())).isEqualTo(STOCK);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT customer_id) FROM customer_coupon WHERE coupon_id = ?", Long.class, coupon.getId())).isEqualTo(STOCK);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo;
+
+import com.example.demo.setting.util.HierarchicalTimerWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// tick 10ms, 아래 단계 4칸(40ms) + 위 단계 4칸(160ms), 그 이상은 overflow
+public class HierarchicalTimerWheelTests {
+
+    private static final long TICK_MS = 10;
+
+    private HierarchicalTimerWheel<Long> newWheel() {
+        return new HierarchicalTimerWheel<>(TICK_MS, 0, 4, 4);
+    }
+
+    // tick 하나씩 진행하면서 작업별로 꺼내진 tick 기록
+    private Map<Long, Long> runTickByTick(HierarchicalTimerWheel<Long> wheel, long untilTick) {
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long tick = 1; tick <= untilTick; tick++) {
+            for (Long task : wheel.advanceTo(tick * TICK_MS)) {
+                firedAt.put(task, tick);
+            }
+        }
+        return firedAt;
+    }
+
+    @Test
+    @DisplayName("단계 경계(아래 단계 마지막 칸, 위 단계 첫/마지막 칸)의 작업이 정확한 tick에 꺼내진다")
+    void levelBoundaries() {
+        HierarchicalTimerWheel<Long> wheel = newWheel();
+        long[] deadlineTicks = {1, 3, 4, 5, 15, 16};
+        for (long tick : deadlineTicks) {
+            assertThat(wheel.add(tick * TICK_MS, tick)).isTrue();
+        }
+
+        Map<Long, Long> firedAt = runTickByTick(wheel, 20);
+
+        for (long tick : deadlineTicks) {
+            assertThat(firedAt.get(tick)).as("deadline tick %d", tick).isEqualTo(tick);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("마감 시각은 tick 단위로 올림되어 일찍 꺼내지지 않는다")
+    void roundsDeadlineUp() {
+        HierarchicalTimerWheel<Long> wheel = newWheel();
+        wheel.add(35, 35L); // tick 3.5 -> 4
+
+        assertThat(wheel.advanceTo(30)).isEmpty();
+        assertThat(wheel.advanceTo(40)).containsExactly(35L);
+    }
+
+    @Test
+    @DisplayName("가장 위 단계 범위를 넘는 작업은 overflow 에서 다시 배치되어 제시간에 꺼내진다")
+    void overflow() {
+        HierarchicalTimerWheel<Long> wheel = newWheel();
+        long[] deadlineTicks = {17, 31, 100, 257};
+        for (long tick : deadlineTicks) {
+            wheel.add(tick * TICK_MS, tick);
+        }
+        assertThat(wheel.size()).isEqualTo(deadlineTicks.length);
+
+        Map<Long, Long> firedAt = runTickByTick(wheel, 300);
+
+        for (long tick : deadlineTicks) {
+            assertThat(firedAt.get(tick)).as("deadline tick %d", tick).isEqualTo(tick);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("tick 이 늦게 와도 그 사이 마감된 작업을 모두 꺼내고, 아직 안 된 작업은 남긴다")
+    void catchUpAfterLateTick() {
+        HierarchicalTimerWheel<Long> wheel = newWheel();
+        for (long tick : new long[]{2, 5, 17, 40, 41}) {
+            wheel.add(tick * TICK_MS, tick);
+        }
+
+        assertThat(wheel.advanceTo(40 * TICK_MS)).containsExactlyInAnyOrder(2L, 5L, 17L, 40L);
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advanceTo(41 * TICK_MS)).containsExactly(41L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("이미 지난 마감 시각은 추가되지 않는다")
+    void rejectsPastDeadline() {
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK_MS, 100, 4, 4);
+
+        assertThat(wheel.add(50, 1L)).isFalse();
+        assertThat(wheel.add(100, 2L)).isFalse();
+        assertThat(wheel.add(101, 3L)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("임의의 마감 시각과 불규칙한 진행에서도 마감 전에는 꺼내지지 않고 마감된 첫 진행에서 꺼내진다")
+    void randomDeadlinesWithIrregularTicks() {
+        Random random = new Random(42);
+        HierarchicalTimerWheel<Long> wheel = newWheel();
+        long now = 0;
+        Map<Long, Long> deadlines = new HashMap<>();
+        List<Long> fired = new ArrayList<>();
+
+        for (long id = 0; now < 5_000; id++) {
+            long deadline = now + 1 + random.nextInt(400);
+            if (wheel.add(deadline, id)) {
+                deadlines.put(id, deadline);
+            }
+
+            long previous = now;
+            now += random.nextInt(60); // 0 ~ 5 tick 씩 늦게 진행
+            for (Long task : wheel.advanceTo(now)) {
+                long deadlineTick = (deadlines.get(task) + TICK_MS - 1) / TICK_MS;
+                assertThat(deadlineTick).isLessThanOrEqualTo(now / TICK_MS);
+                assertThat(deadlineTick).isGreaterThan(previous / TICK_MS);
+                fired.add(task);
+            }
+        }
+        fired.addAll(wheel.advanceTo(now + 1_000));
+
+        assertThat(fired).hasSize(deadlines.size()).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo;
+
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.entity.CouponStatus;
+import com.example.demo.benefit.repository.CustomerCouponRepository;
+import com.example.demo.customer.entity.Customer;
+import com.example.demo.customer.entity.CustomerCoupon;
+import com.example.demo.customer.entity.CustomerStatistics;
+import com.example.demo.customer.entity.OrderLineType;
+import com.example.demo.customer.repository.CustomerRepository;
+import com.example.demo.customer.repository.CustomerStatisticsRepository;
+import com.example.demo.order.dto.OrderBoardLineDto;
+import com.example.demo.order.entity.OrderGroup;
+import com.example.demo.order.repository.OrderGroupRepository;
+import com.example.demo.store.entity.Store;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@Import(TestFixtures.class)
+public class OrderBoardQueryTests {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderGroupRepository orderGroupRepository;
+
+    @Autowired
+    private CustomerStatisticsRepository customerStatisticsRepository;
+
+    @Autowired
+    private CustomerCouponRepository customerCouponRepository;
+
+    @Test
+    @DisplayName("열린 주문 수와 관계없이 현황판 조회는 SQL 1회")
+    void openBoardLinesUseSingleStatement() {
+        // given
+        Store store = fixtures.store("board-store");
+        Customer customer = customerRepository.save(Customer.builder().build());
+
+        createApprovedOrders(store, customer, 1);
+        long statementsForOne = countStatements(store.getStoreId(), 1);
+
+        createApprovedOrders(store, customer, 20);
+        long statementsForMany = countStatements(store.getStoreId(), 21);
+
+        // then
+        assertThat(statementsForOne).isEqualTo(1);
+        assertThat(statementsForMany).isEqualTo(statementsForOne);
+    }
+
+    @Test
+    @DisplayName("쿠폰 사용 항목은 같은 조회에서 쿠폰명까지 함께 읽음")
+    void couponLineCarriesCouponName() {
+        // given: 메뉴 3개 주문 20건 + 쿠폰을 사용한 주문 1건
+        Store store = fixtures.store("board-coupon-store");
+        Customer customer = customerRepository.save(Customer.builder().build());
+        createApprovedOrders(store, customer, 20);
+
+        Coupon coupon = fixtures.coupon(store, "현황판 쿠폰", 10);
+        String couponUuid = UUID.randomUUID().toString();
+        customerCouponRepository.save(CustomerCoupon.builder()
+                .couponUuid(couponUuid)
+                .customer(customer)
+                .coupon(coupon)
+                .couponStatus(CouponStatus.USED)
+                .issuedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusDays(10))
+                .build());
+        OrderGroup couponOrder = createApprovedOrders(store, customer, 1);
+        customerStatisticsRepository.save(CustomerStatistics.builder()
+                .store(store)
+                .customer(customer)
+                .orderGroup(couponOrder)
+                .orderDetails(OrderLineType.COUPON_PREFIX + couponUuid)
+                .lineType(OrderLineType.COUPON)
+                .couponUuid(couponUuid)
+                .orderPrice(-1000)
+                .orderAmount(1)
+                .date(LocalDate.now())
+                .build());
+
+        // when
+        long statements = countStatements(store.getStoreId(), 21);
+        List<OrderBoardLineDto> lines = orderGroupRepository.findOpenBoardLines(store.getStoreId());
+
+        // then
+        assertThat(statements).isEqualTo(1);
+        List<OrderBoardLineDto> couponOrderLines = lines.stream()
+                .filter(line -> line.getOrderGroupId().equals(couponOrder.getId()))
+                .toList();
+        assertThat(couponOrderLines).hasSize(4);
+        assertThat(couponOrderLines)
+                .filteredOn(line -> line.getLineType() == OrderLineType.COUPON)
+                .singleElement()
+                .satisfies(line -> assertThat(line.getCouponName()).isEqualTo("현황판 쿠폰"));
+        assertThat(lines)
+                .filteredOn(line -> line.getLineType() != OrderLineType.COUPON)
+                .allSatisfy(line -> assertThat(line.getCouponName()).isNull());
+    }
+
+    private long countStatements(Long storeId, int expectedGroups) {
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderBoardLineDto> lines = orderGroupRepository.findOpenBoardLines(storeId);
+
+        assertThat(lines.stream().map(OrderBoardLineDto::getOrderGroupId).distinct().count())
+                .isEqualTo(expectedGroups);
+        return statistics.getPrepareStatementCount();
+    }
+
+    // 메뉴 항목 3개짜리 승인된 주문 count 건 (마지막 주문 반환)
+    private OrderGroup createApprovedOrders(Store store, Customer customer, int count) {
+        OrderGroup orderGroup = null;
+        for (int i = 0; i < count; i++) {
+            orderGroup = orderGroupRepository.save(OrderGroup.builder()
+                    .customer(customer)
+                    .storeId(store.getStoreId())
+                    .createdAt(LocalDateTime.now())
+                    .approved(true)
+                    .build());
+
+            for (int line = 0; line < 3; line++) {
+                customerStatisticsRepository.save(CustomerStatistics.builder()
+                        .store(store)
+                        .customer(customer)
+                        .orderGroup(orderGroup)
+                        .orderDetails("메뉴" + line)
+                        .orderPrice(1000)
+                        .orderAmount(1)
+                        .date(LocalDate.now())
+                        .build());
+            }
+        }
+        return orderGroup;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import com.example.demo.KakaoPay.KakaoPayRequest;
+import com.example.demo.customer.entity.Customer;
+import com.example.demo.customer.repository.CustomerRepository;
+import com.example.demo.customer.service.CustomerOrderService;
+import com.example.demo.order.dto.OrderDTO;
+import com.example.demo.store.entity.Store;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@Import(TestFixtures.class)
+public class OrderInsertBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderInsertBenchmarkTests.class);
+
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerOrderService customerOrderService;
+
+    @Test
+    @DisplayName("장바구니 크기별 주문 insert 지연 시간 (1, 10, 50개)")
+    void orderInsertLatencyByCartSize() {
+        // given
+        Store store = fixtures.store("bench-store");
+        Customer customer = customerRepository.save(Customer.builder().build());
+
+        for (int cartSize : new int[]{1, 10, 50}) {
+            List<OrderDTO> cart = createCart(cartSize);
+
+            for (int i = 0; i < WARMUP; i++) {
+                placeOrder(cart, customer, store);
+            }
+
+            long totalNanos = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                KakaoPayRequest.OrderRequest request = placeOrder(cart, customer, store);
+                totalNanos += System.nanoTime() - start;
+
+                assertThat(request.getOrderGroup().getId()).isNotNull();
+            }
+
+            log.info("장바구니 {}개: 주문당 평균 {} ms", cartSize, String.format("%.2f", totalNanos / 1_000_000.0 / ITERATIONS));
+        }
+    }
+
+    // flush까지 포함해야 실제 insert 시간이 측정됨
+    private KakaoPayRequest.OrderRequest placeOrder(List<OrderDTO> cart, Customer customer, Store store) {
+        KakaoPayRequest.OrderRequest request = customerOrderService.order(cart, customer, store.getStoreId());
+        em.flush();
+        em.clear();
+        return request;
+    }
+
+    private List<OrderDTO> createCart(int size) {
+        List<OrderDTO> cart = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            cart.add(new OrderDTO("메뉴" + i, 1000, 1, false, false));
+        }
+        return cart;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.demo;
+
+import com.example.demo.benefit.service.PointLedgerService;
+import com.example.demo.customer.entity.Customer;
+import com.example.demo.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 조건부 UPDATE 가 동시 커밋 사이에서 잔액을 지키는지 보려고 승인마다 각자 커밋 (고객/원장 행은 끝나고 삭제)
+@SpringBootTest
+public class PointLedgerConcurrencyTests {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLedgerConcurrencyTests.class);
+
+    private static final int APPROVALS = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private PointLedgerService pointLedgerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private long orderGroupIdBase;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.builder().build());
+        orderGroupIdBase = System.currentTimeMillis() * 10_000; // 실제 주문 ID와 겹치지 않게
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM point_ledger WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM customer_point WHERE customer_id = ?", customer.getId());
+        customerRepository.delete(customer);
+    }
+
+    @Test
+    @DisplayName("한 고객에 결제 승인 1,000건 동시 처리 - 잔액과 원장 건수가 정확히 맞는다")
+    void concurrentApprovalsKeepExactBalance() throws InterruptedException {
+        // given: 5,000 포인트 보유, 건마다 5 사용 + 10 적립
+        jdbcTemplate.update("INSERT INTO customer_point (customer_id, point_amount) VALUES (?, 5000)", customer.getId());
+
+        // when
+        AtomicInteger failed = run(i -> pointLedgerService.applyApproval(customer.getId(), orderGroupIdBase + i, 5, 10));
+
+        // then
+        assertThat(failed.get()).isZero();
+        assertThat(balance()).isEqualTo(5000 + APPROVALS * 5L);
+        assertThat(ledgerCount()).isEqualTo(APPROVALS * 2L);
+        assertThat(pointLedgerService.getBalance(customer.getId())).isEqualTo(5000 + APPROVALS * 5L);
+    }
+
+    @Test
+    @DisplayName("잔액보다 많이 동시에 사용하면 잔액만큼만 성공하고 음수가 되지 않는다")
+    void concurrentSpendsNeverOverdraw() throws InterruptedException {
+        // given: 100 포인트 보유, 건마다 1 사용
+        jdbcTemplate.update("INSERT INTO customer_point (customer_id, point_amount) VALUES (?, 100)", customer.getId());
+
+        // when
+        AtomicInteger failed = run(i -> pointLedgerService.applyApproval(customer.getId(), orderGroupIdBase + i, 1, 0));
+
+        // then
+        assertThat(failed.get()).isEqualTo(APPROVALS - 100);
+        assertThat(balance()).isZero();
+        assertThat(ledgerCount()).isEqualTo(100);
+    }
+
+    private AtomicInteger run(Approval approval) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(APPROVALS);
+        AtomicInteger failed = new AtomicInteger();
+
+        for (int i = 0; i < APPROVALS; i++) {
+            int index = i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    approval.apply(index);
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        boolean finished = done.await(120, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        executor.shutdown();
+
+        log.info("동시 승인 {}건: {}초, 초당 {}건 (실패 {})",
+                APPROVALS, String.format("%.2f", seconds), Math.round(APPROVALS / seconds), failed.get());
+        assertThat(finished).isTrue();
+        return failed;
+    }
+
+    private long balance() {
+        return jdbcTemplate.queryForObject(
+                "SELECT point_amount FROM customer_point WHERE customer_id = ?", Long.class, customer.getId());
+    }
+
+    private long ledgerCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM point_ledger WHERE customer_id = ?", Long.class, customer.getId());
+    }
+
+    private interface Approval {
+        void apply(int index);
+    }
+}
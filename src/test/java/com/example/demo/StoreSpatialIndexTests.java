@@ -0,0 +1,158 @@
+package com.example.demo;
+
+import com.example.demo.store.repository.StoreLocationRepository;
+import com.example.demo.store.service.StoreSpatialIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 칸 크기 500m, DB 대신 findAllCoordinates 만 흉내 낸 저장소로 실행
+public class StoreSpatialIndexTests {
+
+    private static final double CELL_METERS = 500;
+    private static final double CELL_DEGREES = CELL_METERS / 111_320;
+
+    private final List<Object[]> rows = new ArrayList<>();
+    private Runnable duringLoad = () -> { };
+
+    private StoreSpatialIndex newIndex() {
+        StoreLocationRepository repository = (StoreLocationRepository) Proxy.newProxyInstance(
+                StoreLocationRepository.class.getClassLoader(),
+                new Class<?>[]{StoreLocationRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAllCoordinates")) {
+                        List<Object[]> snapshot = new ArrayList<>(rows);
+                        duringLoad.run();
+                        return snapshot;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        StoreSpatialIndex index = new StoreSpatialIndex(repository);
+        ReflectionTestUtils.setField(index, "cellMeters", CELL_METERS);
+        index.init();
+        return index;
+    }
+
+    @Test
+    @DisplayName("가운데 칸에서 찾은 매장보다 옆 칸 매장이 더 가까우면 다음 겹까지 살펴본다")
+    void nearestLooksPastFirstRingWhenNeighbourIsCloser() {
+        StoreSpatialIndex index = newIndex();
+        // 칸의 동쪽 경계 바로 안쪽에서 검색
+        double latitude = (Math.floor(37.5 / CELL_DEGREES) + 0.5) * CELL_DEGREES;
+        double longitude = (Math.floor(127.0 / CELL_DEGREES) + 1) * CELL_DEGREES - 0.000001;
+
+        index.update(1L, latitude + CELL_DEGREES * 0.4, longitude); // 같은 칸, 약 200m
+        index.update(2L, latitude, longitude + 0.000002);           // 옆 칸, 1m 이내
+
+        List<StoreSpatialIndex.StoreDistance> nearest = index.nearest(latitude, longitude, 1, 3000);
+
+        assertThat(nearest).extracting(StoreSpatialIndex.StoreDistance::getStoreId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("가까운 k개 검색 결과가 전체 비교 결과와 같다 (maxMeters 밖은 제외)")
+    void nearestMatchesBruteForce() {
+        Random random = new Random(7);
+        for (double baseLatitude : new double[]{37.5, 60.0}) {
+            StoreSpatialIndex index = newIndex();
+            Map<Long, double[]> stores = new HashMap<>();
+            for (long storeId = 1; storeId <= 300; storeId++) {
+                double[] point = {baseLatitude + random.nextDouble() * 0.05, 127.0 + random.nextDouble() * 0.05};
+                stores.put(storeId, point);
+                index.update(storeId, point[0], point[1]);
+            }
+
+            for (int i = 0; i < 200; i++) {
+                double latitude = baseLatitude + random.nextDouble() * 0.05;
+                double longitude = 127.0 + random.nextDouble() * 0.05;
+                int k = 1 + random.nextInt(10);
+                double maxMeters = 200 + random.nextDouble() * 2000;
+
+                List<Long> expected = stores.entrySet().stream()
+                        .map(entry -> Map.entry(entry.getKey(), StoreSpatialIndex.haversineMeters(
+                                latitude, longitude, entry.getValue()[0], entry.getValue()[1])))
+                        .filter(entry -> entry.getValue() <= maxMeters)
+                        .sorted(Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                        .limit(k)
+                        .map(Map.Entry::getKey)
+                        .toList();
+
+                assertThat(index.nearest(latitude, longitude, k, maxMeters))
+                        .extracting(StoreSpatialIndex.StoreDistance::getStoreId)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("위치 갱신은 새 스냅샷을 만들고 조회 중인 이전 스냅샷은 건드리지 않는다")
+    void applyCopiesOnWrite() {
+        StoreSpatialIndex index = newIndex();
+        index.update(1L, 37.50, 127.00);
+        index.update(2L, 37.50, 127.00);
+
+        @SuppressWarnings("unchecked")
+        Map<Long, List<?>> before = (Map<Long, List<?>>) ReflectionTestUtils.getField(index, "cells");
+        Map<Long, Integer> sizesBefore = new HashMap<>();
+        before.forEach((cell, bucket) -> sizesBefore.put(cell, bucket.size()));
+
+        index.update(1L, 37.60, 127.10); // 다른 칸으로 이동
+        index.remove(2L);
+
+        // 이전 스냅샷은 그대로
+        Map<Long, Integer> sizesAfter = new HashMap<>();
+        before.forEach((cell, bucket) -> sizesAfter.put(cell, bucket.size()));
+        assertThat(sizesAfter).isEqualTo(sizesBefore);
+        assertThat(ReflectionTestUtils.getField(index, "cells")).isNotSameAs(before);
+
+        // 새 스냅샷에는 이동/삭제가 반영되고 중복이 없음
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.withinRadius(37.50, 127.00, 1000)).isEmpty();
+        assertThat(index.withinRadius(37.60, 127.10, 1000))
+                .extracting(StoreSpatialIndex.StoreDistance::getStoreId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("DB를 읽는 동안 들어온 갱신은 재생성 결과에 다시 반영된다")
+    void rebuildReplaysUpdatesDuringLoad() {
+        rows.add(new Object[]{1L, 37.50, 127.00});
+        rows.add(new Object[]{2L, 37.50, 127.00});
+        StoreSpatialIndex index = newIndex();
+        index.rebuild();
+
+        // 조회 결과(이전 값)를 읽은 뒤 커밋된 변경
+        duringLoad = () -> {
+            index.update(1L, 37.60, 127.10);
+            index.remove(2L);
+            index.update(3L, 37.70, 127.20);
+        };
+        index.rebuild();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.withinRadius(37.50, 127.00, 1000)).isEmpty();
+        assertThat(index.nearest(37.60, 127.10, 1, 1000))
+                .extracting(StoreSpatialIndex.StoreDistance::getStoreId)
+                .containsExactly(1L);
+        assertThat(index.nearest(37.70, 127.20, 1, 1000))
+                .extracting(StoreSpatialIndex.StoreDistance::getStoreId)
+                .containsExactly(3L);
+
+        // 다음 재생성은 기록 없이 DB 값 그대로
+        duringLoad = () -> { };
+        index.rebuild();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.withinRadius(37.50, 127.00, 1000))
+                .extracting(StoreSpatialIndex.StoreDistance::getStoreId)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+}
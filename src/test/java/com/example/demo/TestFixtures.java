@@ -0,0 +1,82 @@
+package com.example.demo;
+
+import com.example.demo.benefit.entity.Coupon;
+import com.example.demo.benefit.entity.DiscountType;
+import com.example.demo.benefit.entity.ExpiryType;
+import com.example.demo.benefit.repository.CouponRepository;
+import com.example.demo.customer.entity.Customer;
+import com.example.demo.customer.repository.CustomerRepository;
+import com.example.demo.store.entity.Store;
+import com.example.demo.store.repository.StoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 통합 테스트 공용 매장/고객/쿠폰 생성과 정리 (@Import(TestFixtures.class) 로 사용)
+@TestComponent
+public class TestFixtures {
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 로컬 가입 점주 매장 (이메일은 name@test.com)
+    public Store store(String name) {
+        return storeRepository.save(Store.builder()
+                .storeName(name)
+                .ownerEmail(name + "@test.com")
+                .password("pass")
+                .provider("local")
+                .build());
+    }
+
+    public List<Customer> customers(int count) {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            customers.add(Customer.builder().build());
+        }
+        return customerRepository.saveAll(customers);
+    }
+
+    // 1,000원 정액, 10일 뒤 만료
+    public Coupon coupon(Store store, String name, int totalQuantity) {
+        return couponRepository.save(Coupon.builder()
+                .couponName(name)
+                .discountType(DiscountType.FIXED_AMOUNT)
+                .discountValue(1000)
+                .expiryType(ExpiryType.ABSOLUTE)
+                .expiryDate(LocalDateTime.now().plusDays(10))
+                .totalQuantity(totalQuantity)
+                .store(store)
+                .build());
+    }
+
+    // 커밋된 데이터를 쿠폰 -> 고객 -> 매장 순서로 삭제 (null 은 건너뜀)
+    public void cleanUp(Store store, Coupon coupon, List<Customer> customers) {
+        if (coupon != null) {
+            jdbcTemplate.update("DELETE FROM customer_coupon WHERE coupon_id = ?", coupon.getId());
+            couponRepository.deleteById(coupon.getId());
+        }
+        if (store != null) {
+            jdbcTemplate.update("DELETE FROM customer_statistics WHERE store_id = ?", store.getId());
+        }
+        if (customers != null) {
+            customerRepository.deleteAll(customers);
+        }
+        if (store != null) {
+            storeRepository.delete(store);
+        }
+    }
+}